@@ -0,0 +1,28 @@
+package com.vincenttho.jpa.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>基准测试入口</p>
+ * 参数与JMH命令行一致，默认附加GC profiler，同时输出吞吐量和内存分配速率（gc.alloc.rate.norm）
+ * 如：java -jar target/benchmarks.jar ToPredicateBenchmark -p conditionCount=10,50
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.vincenttho.jpa.benchmark;
+
+import com.vincenttho.jpa.benchmark.model.OrderPO;
+import com.vincenttho.jpa.domain.SerializableFunction;
+import com.vincenttho.jpa.utils.ColumnUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>ColumnUtils.getColumnName基准测试</p>
+ * 分别测试开启和关闭字段名缓存时的吞吐量
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnUtilsBenchmark {
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private SerializableFunction<OrderPO, Object> columnNameGetter;
+
+    @Setup
+    public void setUp() {
+        ColumnUtils.setCacheEnabled(cacheEnabled);
+        columnNameGetter = OrderPO::getOrderItemName;
+    }
+
+    @Benchmark
+    public String getColumnName() {
+        return ColumnUtils.getColumnName(columnNameGetter);
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.vincenttho.jpa.benchmark;
+
+import com.vincenttho.jpa.benchmark.model.InValuePO;
+import com.vincenttho.jpa.benchmark.model.OrderPO;
+import com.vincenttho.jpa.config.LambdaSpecificationConfig;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.executor.LambdaQueryExecutor;
+import com.vincenttho.jpa.strategy.ArrayInStrategy;
+import com.vincenttho.jpa.strategy.ChunkedInStrategy;
+import com.vincenttho.jpa.strategy.LargeInStrategy;
+import com.vincenttho.jpa.strategy.TempTableInStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>大in策略基准测试</p>
+ * 在嵌入式H2数据库上比较各大in策略的查询耗时，查询结果的正确性见{@link LargeInVerifier}
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LargeInBenchmark {
+
+    private static final int ROW_COUNT = 20000;
+
+    @Param({"none", "chunk", "array", "temp_table"})
+    private String strategy;
+
+    @Param({"2000", "10000"})
+    private int valueCount;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    private LambdaQueryExecutor<OrderPO> executor;
+
+    private LambdaSpecification<OrderPO> specification;
+
+    @Setup
+    public void setUp() {
+        entityManagerFactory = Persistence.createEntityManagerFactory("benchmark");
+        entityManager = entityManagerFactory.createEntityManager();
+        executor = new LambdaQueryExecutor<>(entityManager, OrderPO.class);
+        insertOrders();
+
+        // 每隔一个取一个值，一半命中一半不命中
+        List<Object> orderNos = new ArrayList<>(valueCount);
+        for (int i = 0; i < valueCount; i++) {
+            orderNos.add((long) i * 2);
+        }
+        specification = LambdaSpecification.query(OrderPO.class).in(OrderPO::getOrderNo, orderNos).build();
+        LambdaSpecificationConfig.setLargeInStrategy(createStrategy());
+    }
+
+    @TearDown
+    public void tearDown() {
+        LambdaSpecificationConfig.setLargeInStrategy(null);
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public int findAll() {
+        return query(specification);
+    }
+
+    /**
+     * 在事务中查询并清空持久化上下文，临时表策略需要事务
+     */
+    private int query(LambdaSpecification<OrderPO> specification) {
+        entityManager.getTransaction().begin();
+        try {
+            return executor.findAll(specification).size();
+        } finally {
+            entityManager.getTransaction().commit();
+            entityManager.clear();
+        }
+    }
+
+    private LargeInStrategy createStrategy() {
+        switch (strategy) {
+            case "none":
+                return null;
+            case "chunk":
+                return new ChunkedInStrategy(1000);
+            case "array":
+                return new ArrayInStrategy();
+            case "temp_table":
+                return new TempTableInStrategy(InValuePO.class, "batchId", "value");
+            default:
+                throw new IllegalArgumentException(String.format("未知的大in策略：%s", strategy));
+        }
+    }
+
+    private void insertOrders() {
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            OrderPO order = new OrderPO();
+            order.setPid(String.valueOf(i));
+            order.setOrderNo((long) i);
+            order.setStatus("NEW");
+            entityManager.persist(order);
+            if (i % 1000 == 999) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.vincenttho.jpa.benchmark;
+
+import com.vincenttho.jpa.benchmark.model.InValuePO;
+import com.vincenttho.jpa.benchmark.model.OrderPO;
+import com.vincenttho.jpa.config.LambdaSpecificationConfig;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.executor.LambdaQueryExecutor;
+import com.vincenttho.jpa.strategy.ArrayInStrategy;
+import com.vincenttho.jpa.strategy.ChunkedInStrategy;
+import com.vincenttho.jpa.strategy.LargeInStrategy;
+import com.vincenttho.jpa.strategy.TempTableInStrategy;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>大in策略校验</p>
+ * 在嵌入式H2数据库上校验各大in策略（含not in）查询出的主键与不使用策略时完全一致，
+ * 覆盖值数量恰好等于阈值、阈值+1、分段边界，值列表中有null以及字段值为null的行。
+ * 有不一致时抛出异常，进程以非0状态退出
+ * 如：java -cp target/benchmarks.jar com.vincenttho.jpa.benchmark.LargeInVerifier
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class LargeInVerifier {
+
+    private static final int THRESHOLD = 10;
+
+    private static final int CHUNK_SIZE = 10;
+
+    private static final int ROW_COUNT = 100;
+
+    private static final int NULL_ROW_COUNT = 5;
+
+    public static void main(String[] args) {
+        EntityManagerFactory entityManagerFactory = Persistence.createEntityManagerFactory("benchmark");
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        int threshold = LambdaSpecificationConfig.getLargeInThreshold();
+        try {
+            insertOrders(entityManager);
+            LambdaQueryExecutor<OrderPO> executor = new LambdaQueryExecutor<>(entityManager, OrderPO.class);
+
+            Map<String, LargeInStrategy> strategies = new LinkedHashMap<>();
+            strategies.put("chunk", new ChunkedInStrategy(CHUNK_SIZE));
+            strategies.put("array", new ArrayInStrategy());
+            strategies.put("temp_table", new TempTableInStrategy(InValuePO.class, "batchId", "value"));
+
+            int checkCount = 0;
+            for (int valueCount : new int[]{THRESHOLD, THRESHOLD + 1, CHUNK_SIZE * 2, CHUNK_SIZE * 2 + 1}) {
+                for (boolean withNull : new boolean[]{false, true}) {
+                    List<Object> values = values(valueCount, withNull);
+                    for (boolean not : new boolean[]{false, true}) {
+                        LambdaSpecification<OrderPO> specification = not
+                                ? LambdaSpecification.query(OrderPO.class).notIn(OrderPO::getOrderNo, values).build()
+                                : LambdaSpecification.query(OrderPO.class).in(OrderPO::getOrderNo, values).build();
+
+                        LambdaSpecificationConfig.setLargeInStrategy(null);
+                        LambdaSpecificationConfig.setLargeInThreshold(Integer.MAX_VALUE);
+                        List<String> expected = query(entityManager, executor, specification);
+
+                        LambdaSpecificationConfig.setLargeInThreshold(THRESHOLD);
+                        for (Map.Entry<String, LargeInStrategy> strategy : strategies.entrySet()) {
+                            LambdaSpecificationConfig.setLargeInStrategy(strategy.getValue());
+                            List<String> actual = query(entityManager, executor, specification);
+                            if (!expected.equals(actual)) {
+                                throw new IllegalStateException(String.format(
+                                        "大in策略%s的查询结果不一致，%s，值数量：%s，含null：%s，期望：%s，实际：%s",
+                                        strategy.getKey(), not ? "not in" : "in", valueCount, withNull, expected, actual));
+                            }
+                            checkCount++;
+                        }
+                    }
+                }
+            }
+            System.out.printf("大in策略校验通过，共%d项%n", checkCount);
+        } finally {
+            LambdaSpecificationConfig.setLargeInStrategy(null);
+            LambdaSpecificationConfig.setLargeInThreshold(threshold);
+            entityManager.close();
+            entityManagerFactory.close();
+        }
+    }
+
+    /**
+     * 偶数命中，超出行数的值不命中
+     */
+    private static List<Object> values(int valueCount, boolean withNull) {
+        List<Object> values = new ArrayList<>(valueCount);
+        for (int i = 0; i < valueCount; i++) {
+            values.add((long) i * 2 + (i % 3 == 0 ? ROW_COUNT : 0));
+        }
+        if (withNull) {
+            values.set(valueCount / 2, null);
+        }
+        return values;
+    }
+
+    /**
+     * 在事务中查询，返回排序后的主键，临时表策略需要事务
+     */
+    private static List<String> query(EntityManager entityManager, LambdaQueryExecutor<OrderPO> executor,
+                                      LambdaSpecification<OrderPO> specification) {
+        entityManager.getTransaction().begin();
+        try {
+            List<String> pids = new ArrayList<>();
+            for (OrderPO order : executor.findAll(specification)) {
+                pids.add(order.getPid());
+            }
+            Collections.sort(pids);
+            return pids;
+        } finally {
+            entityManager.getTransaction().commit();
+            entityManager.clear();
+        }
+    }
+
+    private static void insertOrders(EntityManager entityManager) {
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < ROW_COUNT + NULL_ROW_COUNT; i++) {
+            OrderPO order = new OrderPO();
+            order.setPid(String.format("%04d", i));
+            order.setOrderNo(i < ROW_COUNT ? (long) i : null);
+            order.setStatus("NEW");
+            entityManager.persist(order);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+}
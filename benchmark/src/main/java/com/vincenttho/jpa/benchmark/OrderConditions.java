@@ -0,0 +1,81 @@
+package com.vincenttho.jpa.benchmark;
+
+import com.vincenttho.jpa.benchmark.model.OrderPO;
+import com.vincenttho.jpa.domain.LambdaPredicateBuilder;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * <p>基准测试条件构造</p>
+ * 按固定顺序循环使用常见的条件类型，保证不同条件数量下的链式构造具有可比性
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class OrderConditions {
+
+    private static final List<Object> PIDS = Arrays.asList("1", "2", "3", "4", "5");
+
+    private static final List<Object> CLOSED_STATUSES = Arrays.asList("CANCELLED", "DELETED");
+
+    private static final Date FROM_DATE = new Date(0L);
+
+    private static final Date TO_DATE = new Date(4102444800000L);
+
+    private OrderConditions() {
+    }
+
+    /**
+     * <p>构造包含指定数量条件的Specification</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param conditionCount 条件数量
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<com.vincenttho.jpa.benchmark.model.OrderPO>
+     */
+    public static LambdaSpecification<OrderPO> build(int conditionCount) {
+        LambdaPredicateBuilder<OrderPO> builder = LambdaSpecification.query(OrderPO.class);
+        for (int i = 0; i < conditionCount; i++) {
+            switch (i % 10) {
+                case 0:
+                    builder.eq(OrderPO::getOrderNo, 10000L + i);
+                    break;
+                case 1:
+                    builder.like(true, OrderPO::getOrderItemName, "item%");
+                    break;
+                case 2:
+                    builder.in(OrderPO::getPid, PIDS);
+                    break;
+                case 3:
+                    builder.gt(OrderPO::getCreateDate, FROM_DATE);
+                    break;
+                case 4:
+                    builder.le(OrderPO::getAmount, new BigDecimal("1000.00"));
+                    break;
+                case 5:
+                    builder.notEq(true, OrderPO::getStatus, "DRAFT");
+                    break;
+                case 6:
+                    builder.isNotNull(OrderPO::getCustomerName);
+                    break;
+                case 7:
+                    builder.between(OrderPO::getCreateDate, FROM_DATE, TO_DATE);
+                    break;
+                case 8:
+                    builder.notIn(OrderPO::getStatus, CLOSED_STATUSES);
+                    break;
+                default:
+                    builder.andOr(LambdaSpecification.query(OrderPO.class)
+                            .eq(OrderPO::getCustomerName, "Vincent")
+                            .eq(OrderPO::getStatus, "PAID")
+                            .build());
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+}
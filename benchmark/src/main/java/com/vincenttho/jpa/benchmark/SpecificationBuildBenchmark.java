@@ -0,0 +1,40 @@
+package com.vincenttho.jpa.benchmark;
+
+import com.vincenttho.jpa.benchmark.model.OrderPO;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>LambdaSpecification.query(...)链式构造基准测试</p>
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpecificationBuildBenchmark {
+
+    @Param({"1", "5", "10", "25", "50"})
+    private int conditionCount;
+
+    @Benchmark
+    public LambdaSpecification<OrderPO> build() {
+        return OrderConditions.build(conditionCount);
+    }
+
+}
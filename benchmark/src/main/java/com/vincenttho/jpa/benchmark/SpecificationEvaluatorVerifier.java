@@ -0,0 +1,126 @@
+package com.vincenttho.jpa.benchmark;
+
+import com.vincenttho.jpa.benchmark.model.OrderPO;
+import com.vincenttho.jpa.domain.LambdaPredicateBuilder;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.executor.LambdaQueryExecutor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <p>内存计算校验</p>
+ * 在嵌入式H2数据库上校验{@link LambdaSpecification#filter}与{@link LambdaQueryExecutor#findAll}的结果完全一致，
+ * 覆盖与null比较、not in列表中有null、like的_、%和转义、between包含两端等SQL语义。
+ * 有不一致时抛出异常，进程以非0状态退出
+ * 如：java -cp target/benchmarks.jar com.vincenttho.jpa.benchmark.SpecificationEvaluatorVerifier
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class SpecificationEvaluatorVerifier {
+
+    private static final String[] ITEM_NAMES = {"ab", "a_b", "a%b", "axb", "a\\b", "A_B", "b", "", null};
+
+    public static void main(String[] args) {
+        EntityManagerFactory entityManagerFactory = Persistence.createEntityManagerFactory("benchmark");
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            insertOrders(entityManager);
+            LambdaQueryExecutor<OrderPO> executor = new LambdaQueryExecutor<>(entityManager, OrderPO.class);
+            List<OrderPO> all = executor.findAll(LambdaSpecification.query(OrderPO.class).build());
+
+            Map<String, Consumer<LambdaPredicateBuilder<OrderPO>>> cases = new LinkedHashMap<>();
+            // 与null比较
+            cases.put("eq null", query -> query.eq(false, OrderPO::getOrderItemName, null));
+            cases.put("notEq null", query -> query.notEq(false, OrderPO::getOrderItemName, null));
+            cases.put("notEq", query -> query.notEq(OrderPO::getOrderNo, 3L));
+            cases.put("gt", query -> query.gt(OrderPO::getOrderNo, 3L));
+            cases.put("le", query -> query.le(OrderPO::getOrderNo, 3L));
+            cases.put("isNull", query -> query.isNull(OrderPO::getOrderNo));
+            cases.put("isNotNull", query -> query.isNotNull(OrderPO::getOrderItemName));
+            // in/not in
+            cases.put("in", query -> query.in(OrderPO::getOrderNo, Arrays.asList(1L, 2L, 100L)));
+            cases.put("in null", query -> query.in(OrderPO::getOrderNo, Arrays.asList(1L, null)));
+            cases.put("notIn", query -> query.notIn(OrderPO::getOrderNo, Arrays.asList(1L, 2L)));
+            cases.put("notIn null", query -> query.notIn(OrderPO::getOrderNo, Arrays.asList(1L, null)));
+            // like
+            cases.put("like _", query -> query.like(OrderPO::getOrderItemName, "a_b"));
+            cases.put("like %", query -> query.like(OrderPO::getOrderItemName, "a%"));
+            cases.put("like %%", query -> query.like(OrderPO::getOrderItemName, "%b%"));
+            cases.put("like escape _", query -> query.like(OrderPO::getOrderItemName, "a\\_b"));
+            cases.put("like escape %", query -> query.like(OrderPO::getOrderItemName, "a\\%b"));
+            cases.put("like escape \\", query -> query.like(OrderPO::getOrderItemName, "a\\\\b"));
+            cases.put("like empty", query -> query.like(false, OrderPO::getOrderItemName, ""));
+            cases.put("notLike _", query -> query.notLike(OrderPO::getOrderItemName, "a_b"));
+            // between
+            cases.put("between", query -> query.between(OrderPO::getOrderNo, 2L, 5L));
+            cases.put("between equal", query -> query.between(OrderPO::getOrderNo, 4L, 4L));
+            cases.put("between scale", query -> query.between(OrderPO::getAmount, new BigDecimal("1.0"), new BigDecimal("2.00")));
+            cases.put("eq scale", query -> query.eq(OrderPO::getAmount, new BigDecimal("2.0")));
+            // and/or组合
+            cases.put("range", query -> query.gt(OrderPO::getOrderNo, 2L).between(OrderPO::getOrderNo, 2L, 6L));
+            cases.put("or unknown", query -> query.andOr(LambdaSpecification.query(OrderPO.class)
+                    .eq(OrderPO::getOrderNo, 1L)
+                    .like(OrderPO::getOrderItemName, "a_b")
+                    .build()));
+
+            for (Map.Entry<String, Consumer<LambdaPredicateBuilder<OrderPO>>> entry : cases.entrySet()) {
+                LambdaPredicateBuilder<OrderPO> builder = LambdaSpecification.query(OrderPO.class);
+                entry.getValue().accept(builder);
+                LambdaSpecification<OrderPO> specification = builder.build();
+                List<String> expected = pids(executor.findAll(specification));
+                List<String> actual = pids(specification.filter(all));
+                if (!expected.equals(actual)) {
+                    throw new IllegalStateException(String.format("内存计算结果与数据库不一致，%s：%s，期望：%s，实际：%s",
+                            entry.getKey(), specification, expected, actual));
+                }
+            }
+            System.out.printf("内存计算校验通过，共%d项%n", cases.size());
+        } finally {
+            entityManager.close();
+            entityManagerFactory.close();
+        }
+    }
+
+    private static List<String> pids(List<OrderPO> orders) {
+        List<String> pids = new ArrayList<>(orders.size());
+        for (OrderPO order : orders) {
+            pids.add(order.getPid());
+        }
+        Collections.sort(pids);
+        return pids;
+    }
+
+    /**
+     * 每个项目名称与编号、金额（含null和不同精度）组合
+     */
+    private static void insertOrders(EntityManager entityManager) {
+        BigDecimal[] amounts = {new BigDecimal("1"), new BigDecimal("2.000"), new BigDecimal("2.5"), null};
+        entityManager.getTransaction().begin();
+        int i = 0;
+        for (String itemName : ITEM_NAMES) {
+            for (int j = 0; j < 3; j++, i++) {
+                OrderPO order = new OrderPO();
+                order.setPid(String.format("%04d", i));
+                order.setOrderNo(i % 7 == 6 ? null : (long) (i % 7));
+                order.setOrderItemName(itemName);
+                order.setAmount(amounts[i % amounts.length]);
+                order.setStatus("NEW");
+                entityManager.persist(order);
+            }
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.vincenttho.jpa.benchmark;
+
+import com.vincenttho.jpa.benchmark.model.OrderPO;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>toPredicate翻译基准测试</p>
+ * 使用嵌入式H2数据库上真实的Hibernate CriteriaBuilder
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ToPredicateBenchmark {
+
+    @Param({"1", "5", "10", "25", "50"})
+    private int conditionCount;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    private CriteriaBuilder criteriaBuilder;
+
+    private LambdaSpecification<OrderPO> specification;
+
+    @Setup
+    public void setUp() {
+        entityManagerFactory = Persistence.createEntityManagerFactory("benchmark");
+        entityManager = entityManagerFactory.createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+        specification = OrderConditions.build(conditionCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        CriteriaQuery<OrderPO> query = criteriaBuilder.createQuery(OrderPO.class);
+        Root<OrderPO> root = query.from(OrderPO.class);
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.vincenttho.jpa.benchmark.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * <p>临时表值表主键</p>
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class InValueId implements Serializable {
+
+    private String batchId;
+
+    private Long value;
+
+    public InValueId() {
+    }
+
+    public InValueId(String batchId, Long value) {
+        this.batchId = batchId;
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InValueId)) {
+            return false;
+        }
+        InValueId that = (InValueId) o;
+        return Objects.equals(batchId, that.batchId) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(batchId, value);
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.vincenttho.jpa.benchmark.model;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+/**
+ * <p>临时表in策略使用的值表</p>
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@Entity
+@Table(name = "tmp_in_value")
+@IdClass(InValueId.class)
+public class InValuePO {
+
+    /** 批次号 */
+    @Id
+    private String batchId;
+
+    /** 值 */
+    @Id
+    private Long value;
+
+    public String getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+
+    public Long getValue() {
+        return value;
+    }
+
+    public void setValue(Long value) {
+        this.value = value;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.vincenttho.jpa.benchmark.model;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * <p>基准测试用订单实体</p>
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@Entity
+@Table(name = "ipn_order")
+public class OrderPO {
+
+    /** 主键*/
+    @Id
+    private String pid;
+
+    /** 医嘱流水号 */
+    private Long orderNo;
+
+    /** 医嘱项目名称 */
+    private String orderItemName;
+
+    /** 状态 */
+    private String status;
+
+    /** 金额 */
+    private BigDecimal amount;
+
+    /** 客户名称 */
+    private String customerName;
+
+    /** 备注 */
+    @Lob
+    private String remark;
+
+    private Date createDate;
+
+    public String getPid() {
+        return pid;
+    }
+
+    public void setPid(String pid) {
+        this.pid = pid;
+    }
+
+    public Long getOrderNo() {
+        return orderNo;
+    }
+
+    public void setOrderNo(Long orderNo) {
+        this.orderNo = orderNo;
+    }
+
+    public String getOrderItemName() {
+        return orderItemName;
+    }
+
+    public void setOrderItemName(String orderItemName) {
+        this.orderItemName = orderItemName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public String getRemark() {
+        return remark;
+    }
+
+    public void setRemark(String remark) {
+        this.remark = remark;
+    }
+
+    public Date getCreateDate() {
+        return createDate;
+    }
+
+    public void setCreateDate(Date createDate) {
+        this.createDate = createDate;
+    }
+}
@@ -0,0 +1,243 @@
+package com.vincenttho.jpa.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * <p>字段名表生成器</p>
+ * 为每个@Entity、@MappedSuperclass、@Embeddable生成一个ColumnNameProvider实现，
+ * 把方法名映射到属性名，并登记到META-INF/services，运行时ColumnUtils优先查表。
+ * 属性访问方法包括：getXxx、返回boolean/Boolean的isXxx、与字段同名的无参方法（record风格）；
+ * 属性名优先取同名字段，字段名与方法名大小写不一致时按忽略大小写匹配，没有对应字段时按JavaBeans规则推导。
+ * 父类中的方法一并生成
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@SupportedAnnotationTypes({
+        "javax.persistence.Entity", "javax.persistence.MappedSuperclass", "javax.persistence.Embeddable",
+        "jakarta.persistence.Entity", "jakarta.persistence.MappedSuperclass", "jakarta.persistence.Embeddable"
+})
+public class ColumnNameProcessor extends AbstractProcessor {
+
+    private static final String PROVIDER_INTERFACE = "com.vincenttho.jpa.utils.ColumnNameProvider";
+
+    private static final String SERVICE_FILE = "META-INF/services/" + PROVIDER_INTERFACE;
+
+    private static final String CLASS_SUFFIX = "_ColumnNames";
+
+    /** 本次编译生成的实现类 */
+    private final Set<String> providerClassNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind().isClass()) {
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !providerClassNames.isEmpty()) {
+            writeServiceFile();
+        }
+        // 不独占JPA注解，其他处理器（如JPA元模型生成器）照常处理
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_')
+                + CLASS_SUFFIX;
+        String className = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        if (!providerClassNames.add(className)) {
+            return;
+        }
+
+        Map<String, String> columnNames = columnNames(type);
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(className, type);
+            try (PrintWriter writer = new PrintWriter(sourceFile.openWriter())) {
+                if (!packageName.isEmpty()) {
+                    writer.println("package " + packageName + ";");
+                    writer.println();
+                }
+                writer.println("/**");
+                writer.println(" * " + binaryName + "的字段名表，由perfect-jpa-specification-processor生成，不要修改");
+                writer.println(" */");
+                writer.println("public final class " + simpleName + " implements " + PROVIDER_INTERFACE + " {");
+                writer.println();
+                writer.println("    @Override");
+                writer.println("    public String getEntityClassName() {");
+                writer.println("        return \"" + binaryName + "\";");
+                writer.println("    }");
+                writer.println();
+                writer.println("    @Override");
+                writer.println("    public String getColumnName(String methodName) {");
+                writer.println("        switch (methodName) {");
+                for (Map.Entry<String, String> entry : columnNames.entrySet()) {
+                    writer.println("            case \"" + entry.getKey() + "\":");
+                    writer.println("                return \"" + entry.getValue() + "\";");
+                }
+                writer.println("            default:");
+                writer.println("                return null;");
+                writer.println("        }");
+                writer.println("    }");
+                writer.println();
+                writer.println("}");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "字段名表生成失败：" + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * 方法名 -> 属性名，子类中的方法优先
+     */
+    private Map<String, String> columnNames(TypeElement type) {
+        Set<String> fieldNames = new LinkedHashSet<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    fieldNames.add(field.getSimpleName().toString());
+                }
+            }
+        }
+
+        Map<String, String> columnNames = new TreeMap<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.STATIC) || method.getModifiers().contains(Modifier.PRIVATE)
+                        || !method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+                    continue;
+                }
+                String methodName = method.getSimpleName().toString();
+                if (columnNames.containsKey(methodName)) {
+                    continue;
+                }
+                String columnName = columnName(methodName, method.getReturnType(), fieldNames);
+                if (columnName != null) {
+                    columnNames.put(methodName, columnName);
+                }
+            }
+        }
+        return columnNames;
+    }
+
+    private static String columnName(String methodName, TypeMirror returnType, Set<String> fieldNames) {
+        String property = null;
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            property = methodName.substring(3);
+        } else if (methodName.startsWith("is") && methodName.length() > 2 && isBoolean(returnType)) {
+            property = methodName.substring(2);
+        }
+        if (property == null) {
+            // record风格的访问方法
+            return fieldNames.contains(methodName) ? methodName : null;
+        }
+        String decapitalized = decapitalize(property);
+        if (fieldNames.contains(decapitalized)) {
+            return decapitalized;
+        }
+        for (String fieldName : fieldNames) {
+            if (fieldName.equalsIgnoreCase(property)) {
+                return fieldName;
+            }
+        }
+        return decapitalized;
+    }
+
+    private static boolean isBoolean(TypeMirror type) {
+        return type.getKind() == TypeKind.BOOLEAN
+                || (type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals("java.lang.Boolean"));
+    }
+
+    /**
+     * 与java.beans.Introspector.decapitalize一致：前两个字母都是大写时保持不变
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") || element.getKind() != ElementKind.CLASS ? null : element;
+    }
+
+    /**
+     * 增量编译时合并已有的登记项
+     */
+    private void writeServiceFile() {
+        Filer filer = processingEnv.getFiler();
+        Set<String> classNames = new TreeSet<>(providerClassNames);
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        classNames.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // 没有已有的登记文件
+        }
+        try {
+            FileObject serviceFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = serviceFile.openWriter()) {
+                for (String className : classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "字段名表登记失败：" + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.vincenttho.jpa.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>between条件</p>
+ * 标注在查询条件对象的字段上，字段类型必须是两个元素（下限、上限）的集合或数组，
+ * 只有下限时生成大于等于条件，只有上限时生成小于等于条件，都为空时不生成条件，
+ * 见{@link com.vincenttho.jpa.domain.LambdaPredicateBuilder#apply(Object)}
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Between {
+
+    /**
+     * 实体属性路径，默认与字段同名
+     */
+    String field() default "";
+
+}
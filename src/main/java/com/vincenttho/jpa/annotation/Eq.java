@@ -0,0 +1,32 @@
+package com.vincenttho.jpa.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>等于条件</p>
+ * 标注在查询条件对象的字段上，效果与{@link com.vincenttho.jpa.domain.LambdaPredicateBuilder#eq}一致，
+ * 见{@link com.vincenttho.jpa.domain.LambdaPredicateBuilder#apply(Object)}
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Eq {
+
+    /**
+     * 实体属性路径，如orderNo、customer.region，默认与字段同名
+     */
+    String field() default "";
+
+    /**
+     * 是否忽略空值（null、空字符串、空集合），默认忽略
+     */
+    boolean ignoreEmpty() default true;
+
+}
@@ -0,0 +1,43 @@
+package com.vincenttho.jpa.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>like条件</p>
+ * 标注在查询条件对象的字符串字段上，默认直接使用字段值作为匹配模式，
+ * prefix为true时匹配前缀（值%），contains为true时匹配包含（%值%），这两种方式下值中的%、_和\会被转义，按原样匹配，
+ * 见{@link com.vincenttho.jpa.domain.LambdaPredicateBuilder#apply(Object)}
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Like {
+
+    /**
+     * 实体属性路径，默认与字段同名
+     */
+    String field() default "";
+
+    /**
+     * 是否忽略空值（null、空字符串），默认忽略
+     */
+    boolean ignoreEmpty() default true;
+
+    /**
+     * 是否前缀匹配，值后面加%
+     */
+    boolean prefix() default false;
+
+    /**
+     * 是否包含匹配，值前后加%
+     */
+    boolean contains() default false;
+
+}
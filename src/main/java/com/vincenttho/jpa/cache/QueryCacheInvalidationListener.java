@@ -0,0 +1,29 @@
+package com.vincenttho.jpa.cache;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * <p>查询结果缓存失效监听器</p>
+ * 实体新增、修改、删除后使该实体类型相关的缓存失效
+ * 如：@EntityListeners(QueryCacheInvalidationListener.class)
+ *     public class OrderPO { ... }
+ * 也可以在orm.xml中配置为默认监听器。
+ * 回调在flush时触发，在Spring事务中失效推迟到事务完成后，见{@link QueryResultCache#invalidateAfterCommit(Class)}；
+ * 没有Spring事务同步时（如直接使用EntityTransaction）在flush时立即失效，提交前其他线程仍可能把旧数据放进缓存。
+ * 批量update/delete语句不会触发实体监听器，{@link com.vincenttho.jpa.executor.CachingLambdaQueryExecutor}执行后会自行失效
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class QueryCacheInvalidationListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Object entity) {
+        QueryResultCache.invalidateAfterCommit(entity.getClass());
+    }
+
+}
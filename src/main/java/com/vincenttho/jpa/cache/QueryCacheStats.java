@@ -0,0 +1,77 @@
+package com.vincenttho.jpa.cache;
+
+/**
+ * <p>查询结果缓存统计</p>
+ * 创建时的快照，数量均为缓存创建以来的累计值
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class QueryCacheStats {
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    /** 超过最大数量被淘汰的数量 */
+    private final long evictionCount;
+
+    /** 超过存活时间失效的数量 */
+    private final long expiredCount;
+
+    /** 依赖的实体变更后失效的数量 */
+    private final long invalidatedCount;
+
+    private final int size;
+
+    public QueryCacheStats(long hitCount, long missCount, long evictionCount, long expiredCount, long invalidatedCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expiredCount = expiredCount;
+        this.invalidatedCount = invalidatedCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    public long getInvalidatedCount() {
+        return invalidatedCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * <p>命中率</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return double 没有请求时为0
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QueryCacheStats{hit=%d, miss=%d, hitRate=%.2f, eviction=%d, expired=%d, invalidated=%d, size=%d}",
+                hitCount, missCount, getHitRate(), evictionCount, expiredCount, invalidatedCount, size);
+    }
+
+}
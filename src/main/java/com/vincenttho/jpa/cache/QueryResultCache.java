@@ -0,0 +1,264 @@
+package com.vincenttho.jpa.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>查询结果缓存</p>
+ * 按访问顺序淘汰（LRU），超过最大数量时淘汰最久未访问的结果，设置了存活时间的结果到期后失效。
+ * 失效按实体类型进行：每个实体类型有一个版本号，{@link #invalidate(Class)}把版本号加1，
+ * 缓存结果记录查询前依赖实体的版本号，读取时版本号不一致即视为失效。
+ * 查询过程中发生的失效也能识别出来，不会把旧数据放进缓存。
+ * 在Spring事务中写入时，失效推迟到事务完成后（见{@link #invalidateAfterCommit(Class)}），
+ * 事务中有未提交的写入时不读也不放入缓存。
+ * 版本号是全局的，一次失效对所有缓存实例生效；一个缓存实例只应该用于同一个持久化单元
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class QueryResultCache {
+
+    /** 实体类型的版本号 */
+    private static final Map<Class<?>, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+
+    private final int maximumSize;
+
+    /** 存活时间（纳秒），0表示不过期 */
+    private final long ttlNanos;
+
+    private final LinkedHashMap<Object, CacheEntry> entries;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final LongAdder expiredCount = new LongAdder();
+
+    private final LongAdder invalidatedCount = new LongAdder();
+
+    /**
+     * @param maximumSize 最大缓存数量
+     * @param ttl 存活时间，为null或0时不过期
+     */
+    public QueryResultCache(int maximumSize, Duration ttl) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException(String.format("最大缓存数量不能小于1，当前值为：%s", maximumSize));
+        }
+        if (ttl != null && ttl.isNegative()) {
+            throw new IllegalArgumentException(String.format("缓存存活时间不能为负数，当前值为：%s", ttl));
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+        this.entries = new LinkedHashMap<Object, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, CacheEntry> eldest) {
+                if (size() > QueryResultCache.this.maximumSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * <p>使实体类型相关的缓存失效</p>
+     * 父类也会一起失效，按父类查询的结果可能包含该实体
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param entityClass 实体类型
+     */
+    public static void invalidate(Class<?> entityClass) {
+        for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            GENERATIONS.computeIfAbsent(type, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /**
+     * <p>事务完成后使实体类型相关的缓存失效</p>
+     * 有Spring事务同步时（如@Transactional）记录到当前事务中，提交或回滚后再失效，
+     * 避免其他线程在提交前把旧数据以新版本号放进缓存；在此之前当前事务的查询不使用缓存，
+     * 未提交的数据不会进入缓存。没有事务同步时立即失效
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param entityClass 实体类型
+     */
+    public static void invalidateAfterCommit(Class<?> entityClass) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(entityClass);
+            return;
+        }
+        PendingInvalidation pending = currentPendingInvalidation();
+        if (pending == null) {
+            pending = new PendingInvalidation();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.entityClasses.add(entityClass);
+    }
+
+    /**
+     * <p>当前事务是否有未提交的写入</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return boolean
+     */
+    public static boolean hasPendingWrites() {
+        return TransactionSynchronizationManager.isSynchronizationActive() && currentPendingInvalidation() != null;
+    }
+
+    /**
+     * 事务同步随事务挂起和恢复，内层新事务（REQUIRES_NEW）有自己的记录
+     */
+    private static PendingInvalidation currentPendingInvalidation() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidation) {
+                return (PendingInvalidation) synchronization;
+            }
+        }
+        return null;
+    }
+
+    private static long generation(Class<?> entityClass) {
+        AtomicLong generation = GENERATIONS.get(entityClass);
+        return generation == null ? 0 : generation.get();
+    }
+
+    /**
+     * <p>获取缓存结果，没有时查询并放入缓存</p>
+     * 查询在锁外执行，同一个key同时未命中时可能查询多次；当前事务有未提交的写入时直接查询，不读也不放入缓存
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param key 缓存key
+     * @param dependencies 结果依赖的实体类型，只在未命中时计算
+     * @param loader 查询
+     * @return V
+     */
+    public <V> V get(Object key, Supplier<? extends Collection<Class<?>>> dependencies, Supplier<V> loader) {
+        if (hasPendingWrites()) {
+            return loader.get();
+        }
+        long now = System.nanoTime();
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null) {
+                if (ttlNanos > 0 && now - entry.createdAt >= ttlNanos) {
+                    entries.remove(key);
+                    expiredCount.increment();
+                } else if (!entry.isCurrent()) {
+                    entries.remove(key);
+                    invalidatedCount.increment();
+                } else {
+                    hitCount.increment();
+                    return (V) entry.value;
+                }
+            }
+        }
+        missCount.increment();
+
+        // 查询前记录版本号
+        Class<?>[] dependencyClasses = dependencies.get().toArray(new Class<?>[0]);
+        long[] generations = new long[dependencyClasses.length];
+        for (int i = 0; i < dependencyClasses.length; i++) {
+            generations[i] = generation(dependencyClasses[i]);
+        }
+        V value = loader.get();
+        CacheEntry entry = new CacheEntry(value, now, dependencyClasses, generations);
+        if (entry.isCurrent()) {
+            synchronized (entries) {
+                entries.put(key, entry);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * <p>清空缓存</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * <p>统计信息</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return com.vincenttho.jpa.cache.QueryCacheStats
+     */
+    public QueryCacheStats getStats() {
+        return new QueryCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), expiredCount.sum(),
+                invalidatedCount.sum(), size());
+    }
+
+    /**
+     * 事务完成后失效，回滚时也失效，提交状态未知时保守处理
+     */
+    private static final class PendingInvalidation extends TransactionSynchronizationAdapter {
+
+        private final Set<Class<?>> entityClasses = new LinkedHashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            for (Class<?> entityClass : entityClasses) {
+                invalidate(entityClass);
+            }
+        }
+
+    }
+
+    private static final class CacheEntry {
+
+        private final Object value;
+
+        private final long createdAt;
+
+        private final Class<?>[] dependencies;
+
+        private final long[] generations;
+
+        private CacheEntry(Object value, long createdAt, Class<?>[] dependencies, long[] generations) {
+            this.value = value;
+            this.createdAt = createdAt;
+            this.dependencies = dependencies;
+            this.generations = generations;
+        }
+
+        private boolean isCurrent() {
+            for (int i = 0; i < dependencies.length; i++) {
+                if (generation(dependencies[i]) != generations[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
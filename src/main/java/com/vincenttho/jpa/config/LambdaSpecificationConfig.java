@@ -0,0 +1,170 @@
+package com.vincenttho.jpa.config;
+
+import com.vincenttho.jpa.listener.SpecificationListener;
+import com.vincenttho.jpa.strategy.LargeInStrategy;
+
+/**
+ * <p>全局配置</p>
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class LambdaSpecificationConfig {
+
+    /**
+     * in/not in值列表是否补齐
+     * 开启后值列表会用最后一个值补齐到2的幂次长度（1、2、4、8...），
+     * 不同长度的值列表只会生成少量几种SQL，避免Hibernate和数据库的查询计划缓存被大量一次性的SQL挤占
+     */
+    private static volatile boolean inListPadding = false;
+
+    /**
+     * 大in阈值，in/not in值数量超过该值时交给{@link #largeInStrategy}处理
+     * 默认1000，即Oracle单个in列表的上限
+     */
+    private static volatile int largeInThreshold = 1000;
+
+    /**
+     * 大in策略，为null时不做特殊处理
+     */
+    private static volatile LargeInStrategy largeInStrategy;
+
+    /**
+     * 流式查询的JDBC fetch size，默认500
+     * MySQL需要设置为Integer.MIN_VALUE才会真正按行读取
+     */
+    private static volatile int streamFetchSize = 500;
+
+    /**
+     * 流式查询每读取多少行清空一次持久化上下文，默认1000
+     */
+    private static volatile int streamClearInterval = 1000;
+
+    /**
+     * 内存过滤时使用并行流的元素数量，默认10000
+     */
+    private static volatile int parallelFilterThreshold = 10000;
+
+    /**
+     * 查询监听器，默认不做任何处理
+     */
+    private static volatile SpecificationListener specificationListener = SpecificationListener.NOOP;
+
+    private LambdaSpecificationConfig() {
+    }
+
+    public static boolean isInListPadding() {
+        return inListPadding;
+    }
+
+    /**
+     * <p>设置in/not in值列表是否补齐</p>
+     * 单个查询可以通过LambdaPredicateBuilder.inListPadding单独设置
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param inListPadding 是否补齐
+     */
+    public static void setInListPadding(boolean inListPadding) {
+        LambdaSpecificationConfig.inListPadding = inListPadding;
+    }
+
+    public static int getLargeInThreshold() {
+        return largeInThreshold;
+    }
+
+    /**
+     * <p>设置大in阈值</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param largeInThreshold 值数量超过该值时使用大in策略
+     */
+    public static void setLargeInThreshold(int largeInThreshold) {
+        if (largeInThreshold < 1) {
+            throw new IllegalArgumentException(String.format("大in阈值不能小于1，当前值为：%s", largeInThreshold));
+        }
+        LambdaSpecificationConfig.largeInThreshold = largeInThreshold;
+    }
+
+    public static LargeInStrategy getLargeInStrategy() {
+        return largeInStrategy;
+    }
+
+    /**
+     * <p>设置大in策略</p>
+     * 如：LambdaSpecificationConfig.setLargeInStrategy(new ChunkedInStrategy(1000));
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param largeInStrategy 大in策略，为null时不做特殊处理
+     */
+    public static void setLargeInStrategy(LargeInStrategy largeInStrategy) {
+        LambdaSpecificationConfig.largeInStrategy = largeInStrategy;
+    }
+
+    public static int getStreamFetchSize() {
+        return streamFetchSize;
+    }
+
+    /**
+     * <p>设置流式查询的JDBC fetch size</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param streamFetchSize fetch size，不能为0
+     */
+    public static void setStreamFetchSize(int streamFetchSize) {
+        if (streamFetchSize == 0) {
+            throw new IllegalArgumentException("流式查询的fetch size不能为0");
+        }
+        LambdaSpecificationConfig.streamFetchSize = streamFetchSize;
+    }
+
+    public static int getStreamClearInterval() {
+        return streamClearInterval;
+    }
+
+    /**
+     * <p>设置流式查询清空持久化上下文的间隔</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param streamClearInterval 每读取多少行清空一次
+     */
+    public static void setStreamClearInterval(int streamClearInterval) {
+        if (streamClearInterval < 1) {
+            throw new IllegalArgumentException(String.format("流式查询清空持久化上下文的间隔不能小于1，当前值为：%s", streamClearInterval));
+        }
+        LambdaSpecificationConfig.streamClearInterval = streamClearInterval;
+    }
+
+    public static int getParallelFilterThreshold() {
+        return parallelFilterThreshold;
+    }
+
+    /**
+     * <p>设置内存过滤时使用并行流的元素数量</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param parallelFilterThreshold 元素数量达到该值时使用并行流，Integer.MAX_VALUE表示不使用
+     */
+    public static void setParallelFilterThreshold(int parallelFilterThreshold) {
+        if (parallelFilterThreshold < 1) {
+            throw new IllegalArgumentException(String.format("并行过滤阈值不能小于1，当前值为：%s", parallelFilterThreshold));
+        }
+        LambdaSpecificationConfig.parallelFilterThreshold = parallelFilterThreshold;
+    }
+
+    public static SpecificationListener getSpecificationListener() {
+        return specificationListener;
+    }
+
+    /**
+     * <p>设置查询监听器</p>
+     * 如：LambdaSpecificationConfig.setSpecificationListener(new MetricsSpecificationListener(recorder));
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specificationListener 查询监听器，为null时不做任何处理
+     */
+    public static void setSpecificationListener(SpecificationListener specificationListener) {
+        LambdaSpecificationConfig.specificationListener =
+                specificationListener == null ? SpecificationListener.NOOP : specificationListener;
+    }
+
+}
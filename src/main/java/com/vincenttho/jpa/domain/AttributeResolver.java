@@ -0,0 +1,111 @@
+package com.vincenttho.jpa.domain;
+
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>属性路径解析</p>
+ * 把属性路径（如customer.region）解析为JPA元模型中的属性，按ManagedType缓存，
+ * 同一实体的同一属性路径只解析一次，翻译时直接使用元模型属性，不再按名称逐级查找
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class AttributeResolver {
+
+    /** 以ManagedType为key，不同的EntityManagerFactory各自缓存 */
+    private static final Map<ManagedType<?>, Map<String, Attribute<?, ?>[]>> CACHE = new ConcurrentHashMap<>();
+
+    private AttributeResolver() {
+    }
+
+    /**
+     * <p>解析属性路径</p>
+     * 除最后一级外，每一级都必须是关联实体或嵌入对象
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param managedType 起点类型
+     * @param attributePath 属性路径
+     * @return javax.persistence.metamodel.Attribute<?,?>[] 每一级的属性，调用方不能修改
+     */
+    static Attribute<?, ?>[] resolve(ManagedType<?> managedType, String attributePath) {
+        Map<String, Attribute<?, ?>[]> attributes = CACHE.computeIfAbsent(managedType, key -> new ConcurrentHashMap<>());
+        Attribute<?, ?>[] resolved = attributes.get(attributePath);
+        if (resolved == null) {
+            resolved = doResolve(managedType, attributePath);
+            attributes.put(attributePath, resolved);
+        }
+        return resolved;
+    }
+
+    private static Attribute<?, ?>[] doResolve(ManagedType<?> managedType, String attributePath) {
+        String[] attributeNames = attributePath.split("\\.");
+        Attribute<?, ?>[] resolved = new Attribute<?, ?>[attributeNames.length];
+        ManagedType<?> current = managedType;
+        for (int i = 0; i < attributeNames.length; i++) {
+            if (current == null) {
+                throw new IllegalArgumentException(String.format("属性%s不是关联实体或嵌入对象，属性路径：%s",
+                        resolved[i - 1].getName(), attributePath));
+            }
+            Attribute<?, ?> attribute = findAttribute(current, attributeNames[i]);
+            if (attribute == null) {
+                throw new IllegalArgumentException(String.format("%s中不存在属性%s，属性路径：%s",
+                        current.getJavaType().getName(), attributeNames[i], attributePath));
+            }
+            resolved[i] = attribute;
+            current = managedType(attribute);
+        }
+        return resolved;
+    }
+
+    private static Attribute<?, ?> findAttribute(ManagedType<?> managedType, String attributeName) {
+        try {
+            return managedType.getAttribute(attributeName);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * <p>属性的类型，集合属性为元素类型，不是实体或嵌入对象时返回null</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param attribute
+     * @return javax.persistence.metamodel.ManagedType<?>
+     */
+    static ManagedType<?> managedType(Attribute<?, ?> attribute) {
+        Type<?> type = attribute instanceof PluralAttribute
+                ? ((PluralAttribute<?, ?, ?>) attribute).getElementType()
+                : ((SingularAttribute<?, ?>) attribute).getType();
+        return type instanceof ManagedType ? (ManagedType<?>) type : null;
+    }
+
+    /**
+     * <p>属性值的类型，集合属性为元素类型</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param attribute
+     * @return java.lang.Class<?>
+     */
+    static Class<?> valueType(Attribute<?, ?> attribute) {
+        return attribute instanceof PluralAttribute
+                ? ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType()
+                : attribute.getJavaType();
+    }
+
+    /**
+     * <p>清空缓存</p>
+     * 关闭EntityManagerFactory后调用，释放旧元模型的缓存
+     * @author VincentHo
+     * @date 2026/10/17
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.enums.Operator;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>查询条件</p>
+ * 链式构造时已解析好的条件（操作符、属性路径、操作数），创建后不可变，
+ * toPredicate时只需翻译成Predicate，不再解析字段名
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class Condition implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Operator operator;
+
+    private final String attributePath;
+
+    private final List<Object> operands;
+
+    /** 是否忽略空值，只对含占位符的条件有意义，绑定值为空时丢弃该条件 */
+    private final boolean ignoreEmpty;
+
+    /** in/not in是否补齐值列表，null时使用全局配置 */
+    private final Boolean inListPadding;
+
+    private final boolean placeholder;
+
+    public Condition(Operator operator, String attributePath, Object ... operands) {
+        this(operator, attributePath, Arrays.asList(operands));
+    }
+
+    public Condition(Operator operator, String attributePath, Collection<?> operands) {
+        this(operator, attributePath, false, null, Collections.unmodifiableList(new ArrayList<>(operands)));
+    }
+
+    private Condition(Operator operator, String attributePath, boolean ignoreEmpty, Boolean inListPadding, List<Object> operands) {
+        this.operator = operator;
+        this.attributePath = attributePath;
+        this.operands = operands;
+        this.ignoreEmpty = ignoreEmpty;
+        this.inListPadding = inListPadding;
+        this.placeholder = containsPlaceholder(operands);
+    }
+
+    private static boolean containsPlaceholder(List<Object> operands) {
+        for (Object operand : operands) {
+            if (operand instanceof Placeholder) {
+                return true;
+            }
+            // exists子查询里的占位符
+            if (operand instanceof LambdaSpecification && ((LambdaSpecification) operand).hasPlaceholder()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>复制一个指定空值忽略标志的条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param ignoreEmpty 是否忽略空值
+     * @return com.vincenttho.jpa.domain.Condition
+     */
+    public Condition ignoreEmpty(boolean ignoreEmpty) {
+        return ignoreEmpty == this.ignoreEmpty ? this : new Condition(operator, attributePath, ignoreEmpty, inListPadding, operands);
+    }
+
+    /**
+     * <p>复制一个指定in值列表补齐方式的条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param inListPadding 是否补齐，null时使用全局配置
+     * @return com.vincenttho.jpa.domain.Condition
+     */
+    public Condition inListPadding(Boolean inListPadding) {
+        return Objects.equals(inListPadding, this.inListPadding) ? this : new Condition(operator, attributePath, ignoreEmpty, inListPadding, operands);
+    }
+
+    /**
+     * <p>复制一个替换了操作数的条件</p>
+     * 除操作数外的其他设置保持不变
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param operands 操作数
+     * @return com.vincenttho.jpa.domain.Condition
+     */
+    public Condition withOperands(Collection<?> operands) {
+        return new Condition(operator, attributePath, ignoreEmpty, inListPadding, Collections.unmodifiableList(new ArrayList<>(operands)));
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public String getAttributePath() {
+        return attributePath;
+    }
+
+    public List<Object> getOperands() {
+        return operands;
+    }
+
+    public boolean isIgnoreEmpty() {
+        return ignoreEmpty;
+    }
+
+    public Boolean getInListPadding() {
+        return inListPadding;
+    }
+
+    /**
+     * <p>操作数中是否含有占位符</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return boolean
+     */
+    public boolean hasPlaceholder() {
+        return placeholder;
+    }
+
+    /**
+     * <p>获取第一个操作数</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return java.lang.Object
+     */
+    public Object getOperand() {
+        return operands.isEmpty() ? null : operands.get(0);
+    }
+
+    /**
+     * <p>属性为null时条件是否一定不成立</p>
+     * 用于判断关联能否使用inner join
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return boolean
+     */
+    public boolean isNullRejecting() {
+        switch (operator) {
+            case IS_NULL:
+            case EXISTS:
+            case NOT_EXISTS:
+                return false;
+            case EQ:
+            case NOT_EQ:
+                return getOperand() != null;
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Condition)) {
+            return false;
+        }
+        Condition that = (Condition) o;
+        return operator == that.operator
+                && ignoreEmpty == that.ignoreEmpty
+                && attributePath.equals(that.attributePath)
+                && operands.equals(that.operands)
+                && Objects.equals(inListPadding, that.inListPadding);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operator, attributePath, operands, ignoreEmpty, inListPadding);
+    }
+
+    @Override
+    public String toString() {
+        return operator + "(" + attributePath + (operands.isEmpty() ? "" : ", " + operands) + ")";
+    }
+
+}
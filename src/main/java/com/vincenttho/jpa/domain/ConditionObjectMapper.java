@@ -0,0 +1,273 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.annotation.Between;
+import com.vincenttho.jpa.annotation.Eq;
+import com.vincenttho.jpa.annotation.Ge;
+import com.vincenttho.jpa.annotation.Gt;
+import com.vincenttho.jpa.annotation.In;
+import com.vincenttho.jpa.annotation.Le;
+import com.vincenttho.jpa.annotation.Like;
+import com.vincenttho.jpa.annotation.Lt;
+import com.vincenttho.jpa.annotation.NotEq;
+import com.vincenttho.jpa.annotation.NotIn;
+import com.vincenttho.jpa.enums.Operator;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>查询条件对象映射</p>
+ * 把字段上标注了{@link Eq}、{@link In}、{@link Like}、{@link Between}等注解的查询条件对象转换成条件。
+ * 每个条件对象类只解析一次，生成取值计划并用ClassValue缓存：公共getter通过LambdaMetafactory生成Function，
+ * 其余字段使用MethodHandle读取，每次映射只调用这些Function，不再使用反射
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+final class ConditionObjectMapper {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<List<Mapping>> PLANS = new ClassValue<List<Mapping>>() {
+        @Override
+        protected List<Mapping> computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    private ConditionObjectMapper() {
+    }
+
+    /**
+     * <p>获取条件对象类的取值计划</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param conditionClass 条件对象类
+     * @return java.util.List<com.vincenttho.jpa.domain.ConditionObjectMapper.Mapping>
+     */
+    static List<Mapping> mappings(Class<?> conditionClass) {
+        return PLANS.get(conditionClass);
+    }
+
+    private static List<Mapping> compile(Class<?> type) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+        List<Mapping> mappings = new ArrayList<>();
+        // 父类的字段在前
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                for (Annotation annotation : field.getAnnotations()) {
+                    Mapping mapping = mapping(field, annotation);
+                    if (mapping != null) {
+                        mappings.add(mapping);
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableList(mappings);
+    }
+
+    private static Mapping mapping(Field field, Annotation annotation) {
+        if (annotation instanceof Eq) {
+            return new Mapping(Operator.EQ, path(field, ((Eq) annotation).field()), ((Eq) annotation).ignoreEmpty(), accessor(field), null);
+        } else if (annotation instanceof NotEq) {
+            return new Mapping(Operator.NOT_EQ, path(field, ((NotEq) annotation).field()), ((NotEq) annotation).ignoreEmpty(), accessor(field), null);
+        } else if (annotation instanceof In) {
+            checkMultiValued(field, annotation);
+            return new Mapping(Operator.IN, path(field, ((In) annotation).field()), ((In) annotation).ignoreEmpty(), accessor(field), null);
+        } else if (annotation instanceof NotIn) {
+            checkMultiValued(field, annotation);
+            return new Mapping(Operator.NOT_IN, path(field, ((NotIn) annotation).field()), ((NotIn) annotation).ignoreEmpty(), accessor(field), null);
+        } else if (annotation instanceof Gt) {
+            return new Mapping(Operator.GT, path(field, ((Gt) annotation).field()), ((Gt) annotation).ignoreEmpty(), accessor(field), null);
+        } else if (annotation instanceof Ge) {
+            return new Mapping(Operator.GE, path(field, ((Ge) annotation).field()), ((Ge) annotation).ignoreEmpty(), accessor(field), null);
+        } else if (annotation instanceof Lt) {
+            return new Mapping(Operator.LT, path(field, ((Lt) annotation).field()), ((Lt) annotation).ignoreEmpty(), accessor(field), null);
+        } else if (annotation instanceof Le) {
+            return new Mapping(Operator.LE, path(field, ((Le) annotation).field()), ((Le) annotation).ignoreEmpty(), accessor(field), null);
+        } else if (annotation instanceof Like) {
+            Like like = (Like) annotation;
+            if (!CharSequence.class.isAssignableFrom(field.getType())) {
+                throw new IllegalArgumentException(String.format("条件对象映射失败，@Like只能用于字符串字段：%s", field));
+            }
+            String prefix = like.contains() ? "%" : "";
+            String suffix = like.contains() || like.prefix() ? "%" : "";
+            // 前缀、包含匹配时值是用户输入，其中的%、_按原样匹配
+            return new Mapping(Operator.LIKE, path(field, like.field()), like.ignoreEmpty(), accessor(field), prefix.isEmpty() && suffix.isEmpty() ? null
+                    : value -> value == null || value.toString().isEmpty() ? value : prefix + escapeLike(value.toString()) + suffix);
+        } else if (annotation instanceof Between) {
+            checkMultiValued(field, annotation);
+            return new Mapping(Operator.BETWEEN, path(field, ((Between) annotation).field()), true, accessor(field), null);
+        }
+        return null;
+    }
+
+    /**
+     * 转义\、%和_，翻译时以\作为like的转义字符
+     */
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static String path(Field field, String attributePath) {
+        return attributePath.isEmpty() ? field.getName() : attributePath;
+    }
+
+    private static void checkMultiValued(Field field, Annotation annotation) {
+        if (!Collection.class.isAssignableFrom(field.getType()) && !field.getType().isArray()) {
+            throw new IllegalArgumentException(String.format("条件对象映射失败，@%s只能用于集合或数组字段：%s",
+                    annotation.annotationType().getSimpleName(), field));
+        }
+    }
+
+    /**
+     * <p>生成字段取值Function</p>
+     * 有公共getter时通过LambdaMetafactory生成，效果与手写的Dto::getXxx一致；
+     * 条件对象类不是public等无法生成时，退回到MethodHandle
+     */
+    private static Function<Object, Object> accessor(Field field) {
+        Class<?> type = field.getDeclaringClass();
+        String suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        for (String methodName : new String[]{"get" + suffix, "is" + suffix}) {
+            try {
+                Method getter = type.getMethod(methodName);
+                if (getter.getReturnType() == void.class) {
+                    continue;
+                }
+                Function<Object, Object> function = lambda(getter);
+                return function != null ? function : methodHandle(LOOKUP.unreflect(getter), field);
+            } catch (NoSuchMethodException e) {
+                // 继续查找
+            } catch (IllegalAccessException e) {
+                break;
+            }
+        }
+        try {
+            field.setAccessible(true);
+            return methodHandle(LOOKUP.unreflectGetter(field), field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException(String.format("条件对象映射失败，字段无法读取：%s", field), e);
+        }
+    }
+
+    private static Function<Object, Object> lambda(Method getter) {
+        if (!Modifier.isPublic(getter.getDeclaringClass().getModifiers())) {
+            return null;
+        }
+        try {
+            // 生成的类定义在本类的ClassLoader中，条件对象类对它不可见时（如热部署的子ClassLoader）不能使用
+            if (Class.forName(getter.getDeclaringClass().getName(), false, ConditionObjectMapper.class.getClassLoader())
+                    != getter.getDeclaringClass()) {
+                return null;
+            }
+            MethodHandle handle = LOOKUP.unreflect(getter);
+            CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class), handle, handle.type().wrap());
+            return (Function<Object, Object>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static Function<Object, Object> methodHandle(MethodHandle handle, Field field) {
+        MethodHandle getter = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return target -> {
+            try {
+                return getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw new RuntimeException(String.format("条件对象映射失败，字段取值失败：%s", field), e);
+            }
+        };
+    }
+
+    /**
+     * 条件对象的一个字段对应的条件
+     */
+    static final class Mapping {
+
+        private final Operator operator;
+
+        private final String attributePath;
+
+        private final boolean ignoreEmpty;
+
+        private final Function<Object, Object> accessor;
+
+        /** 取值后的转换，如like的前后缀 */
+        private final Function<Object, Object> transformer;
+
+        private Mapping(Operator operator, String attributePath, boolean ignoreEmpty, Function<Object, Object> accessor,
+                        Function<Object, Object> transformer) {
+            this.operator = operator;
+            this.attributePath = attributePath;
+            this.ignoreEmpty = ignoreEmpty;
+            this.accessor = accessor;
+            this.transformer = transformer;
+        }
+
+        Operator getOperator() {
+            return operator;
+        }
+
+        String getAttributePath() {
+            return attributePath;
+        }
+
+        boolean isIgnoreEmpty() {
+            return ignoreEmpty;
+        }
+
+        /**
+         * <p>读取条件值</p>
+         * 集合、数组字段转换成List
+         */
+        Object value(Object conditionObject) {
+            Object value = accessor.apply(conditionObject);
+            if (transformer != null) {
+                return transformer.apply(value);
+            }
+            if (value != null && value.getClass().isArray()) {
+                if (value instanceof Object[]) {
+                    return Arrays.asList((Object[]) value);
+                }
+                int length = Array.getLength(value);
+                List<Object> values = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    values.add(Array.get(value, i));
+                }
+                return values;
+            }
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.utils.ColumnUtils;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>keyset分页的排序键</p>
+ * 按顺序定义排序字段和方向，最后一个字段需要能唯一确定一行（如主键），
+ * 配合{@link LambdaPredicateBuilder#seekAfter(Keyset, Object)}等方法生成 (a &lt; ?) or (a = ? and b &lt; ?) 形式的条件，
+ * 翻页时只需要上一页最后一行的排序键值，任意深度的页与第一页的代价一致
+ * 如：Keyset<Po> keyset = Keyset.of(Po.class)
+ *           .desc(Po::getCreateDate)
+ *           .desc(Po::getPid);
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class Keyset<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Key<T>> keys;
+
+    private Keyset(List<Key<T>> keys) {
+        this.keys = keys;
+    }
+
+    public static <T> Keyset<T> of(Class<T> poClass) {
+        return new Keyset<>(Collections.emptyList());
+    }
+
+    /**
+     * <p>增加升序排序键</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 字段名getter function
+     * @return com.vincenttho.jpa.domain.Keyset<T>
+     */
+    public Keyset<T> asc(SerializableFunction<T, Object> columnNameGetter) {
+        return add(new Key<>(ColumnUtils.getColumnName(columnNameGetter), true, columnNameGetter));
+    }
+
+    /**
+     * <p>增加降序排序键</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 字段名getter function
+     * @return com.vincenttho.jpa.domain.Keyset<T>
+     */
+    public Keyset<T> desc(SerializableFunction<T, Object> columnNameGetter) {
+        return add(new Key<>(ColumnUtils.getColumnName(columnNameGetter), false, columnNameGetter));
+    }
+
+    private Keyset<T> add(Key<T> key) {
+        List<Key<T>> newKeys = new ArrayList<>(keys.size() + 1);
+        newKeys.addAll(keys);
+        newKeys.add(key);
+        return new Keyset<>(Collections.unmodifiableList(newKeys));
+    }
+
+    public List<Key<T>> getKeys() {
+        return keys;
+    }
+
+    /**
+     * <p>转换成Spring Data的Sort</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return org.springframework.data.domain.Sort
+     */
+    public Sort toSort() {
+        List<Sort.Order> orders = new ArrayList<>(keys.size());
+        for (Key<T> key : keys) {
+            orders.add(key.isAscending() ? Sort.Order.asc(key.getAttributePath()) : Sort.Order.desc(key.getAttributePath()));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * <p>取出一行数据的排序键值</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param row 数据行
+     * @return java.lang.Object[]
+     */
+    public Object[] keyValues(T row) {
+        Object[] values = new Object[keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = keys.get(i).getColumnNameGetter().apply(row);
+        }
+        return values;
+    }
+
+    /**
+     * <p>生成续页标记</p>
+     * 标记只包含排序键值，不包含类名，可以安全地交给前端
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param row 当前页最后一行
+     * @return java.lang.String
+     */
+    public String token(T row) {
+        Object[] values = keyValues(row);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(values.length);
+            for (Object value : values) {
+                writeValue(out, value);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("续页标记生成失败：%s", e.getMessage()), e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * <p>解析续页标记</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param token 续页标记
+     * @return java.lang.Object[] 排序键值
+     */
+    public Object[] parseToken(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            int length = in.readUnsignedByte();
+            if (length != keys.size()) {
+                throw new IllegalArgumentException(String.format("续页标记与排序键数量不一致：%s", token));
+            }
+            Object[] values = new Object[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = readValue(in);
+            }
+            return values;
+        } catch (IOException | RuntimeException e) {
+            // 被篡改的标记在解析日期时间等值时可能抛出各种运行时异常（如DateTimeParseException）
+            throw new IllegalArgumentException(String.format("续页标记不合法：%s", token), e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            throw new RuntimeException("keyset分页的排序键值不能为null");
+        } else if (value instanceof String) {
+            out.writeByte('S');
+            out.writeUTF((String) value);
+        } else if (value instanceof Long) {
+            out.writeByte('J');
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte('I');
+            out.writeInt((Integer) value);
+        } else if (value instanceof Short) {
+            out.writeByte('H');
+            out.writeShort((Short) value);
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            out.writeByte(value instanceof BigDecimal ? 'D' : 'B');
+            out.writeUTF(value.toString());
+        } else if (value instanceof Timestamp) {
+            // Hibernate读出的Date字段实际是Timestamp，需要保留纳秒
+            out.writeByte('P');
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof Date) {
+            out.writeByte('T');
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof LocalDate || value instanceof LocalDateTime
+                || value instanceof Instant || value instanceof OffsetDateTime) {
+            out.writeByte(value instanceof LocalDate ? 'd' : value instanceof LocalDateTime ? 'l' : value instanceof Instant ? 'i' : 'o');
+            out.writeUTF(value.toString());
+        } else if (value instanceof UUID) {
+            out.writeByte('U');
+            out.writeUTF(value.toString());
+        } else {
+            throw new RuntimeException(String.format("keyset分页不支持的排序键类型：%s", value.getClass().getName()));
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        char type = (char) in.readUnsignedByte();
+        switch (type) {
+            case 'S':
+                return in.readUTF();
+            case 'J':
+                return in.readLong();
+            case 'I':
+                return in.readInt();
+            case 'H':
+                return in.readShort();
+            case 'D':
+                return new BigDecimal(in.readUTF());
+            case 'B':
+                return new BigInteger(in.readUTF());
+            case 'P':
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case 'T':
+                return new Date(in.readLong());
+            case 'd':
+                return LocalDate.parse(in.readUTF());
+            case 'l':
+                return LocalDateTime.parse(in.readUTF());
+            case 'i':
+                return Instant.parse(in.readUTF());
+            case 'o':
+                return OffsetDateTime.parse(in.readUTF());
+            case 'U':
+                return UUID.fromString(in.readUTF());
+            default:
+                throw new IOException(String.format("未知的排序键类型：%s", type));
+        }
+    }
+
+    /**
+     * <p>排序键</p>
+     *
+     * @author VincentHo
+     * @date 2026-10-17
+     */
+    public static final class Key<T> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String attributePath;
+
+        private final boolean ascending;
+
+        private final SerializableFunction<T, Object> columnNameGetter;
+
+        private Key(String attributePath, boolean ascending, SerializableFunction<T, Object> columnNameGetter) {
+            this.attributePath = attributePath;
+            this.ascending = ascending;
+            this.columnNameGetter = columnNameGetter;
+        }
+
+        public String getAttributePath() {
+            return attributePath;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        public SerializableFunction<T, Object> getColumnNameGetter() {
+            return columnNameGetter;
+        }
+
+    }
+
+}
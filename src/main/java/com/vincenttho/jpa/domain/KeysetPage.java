@@ -0,0 +1,35 @@
+package com.vincenttho.jpa.domain;
+
+import java.util.List;
+
+/**
+ * <p>keyset分页结果</p>
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+
+    /** 下一页的续页标记，没有下一页时为null */
+    private final String nextToken;
+
+    public KeysetPage(List<T> content, String nextToken) {
+        this.content = content;
+        this.nextToken = nextToken;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+}
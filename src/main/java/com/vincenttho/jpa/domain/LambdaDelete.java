@@ -0,0 +1,42 @@
+package com.vincenttho.jpa.domain;
+
+/**
+ * <p>批量删除</p>
+ * 复用LambdaSpecification的条件，生成一条 delete from ... where ... 语句，
+ * 通过{@link com.vincenttho.jpa.executor.LambdaQueryExecutor#execute(LambdaDelete)}执行。
+ * 批量删除不经过持久化上下文，不会级联删除，也不会触发实体监听器
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class LambdaDelete<T> {
+
+    private final Class<T> poClass;
+
+    private LambdaSpecification<T> specification;
+
+    LambdaDelete(Class<T> poClass) {
+        this.poClass = poClass;
+    }
+
+    /**
+     * <p>设置删除条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 条件，删除全表时传入没有条件的LambdaSpecification
+     * @return com.vincenttho.jpa.domain.LambdaDelete<T>
+     */
+    public LambdaDelete<T> where(LambdaSpecification<T> specification) {
+        this.specification = specification;
+        return this;
+    }
+
+    public Class<T> getPoClass() {
+        return poClass;
+    }
+
+    public LambdaSpecification<T> getSpecification() {
+        return specification;
+    }
+
+}
@@ -1,13 +1,15 @@
 package com.vincenttho.jpa.domain;
 
+import com.vincenttho.jpa.config.LambdaSpecificationConfig;
+import com.vincenttho.jpa.enums.Operator;
+import com.vincenttho.jpa.listener.SpecificationListener;
 import com.vincenttho.jpa.utils.ColumnUtils;
 
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * <p>lambda条件构造器</p>
@@ -21,21 +23,31 @@ public class LambdaPredicateBuilder<T> {
 
     private final Class<T> poClass;
 
+    /** 后续in/not in条件是否补齐值列表，null时使用全局配置 */
+    private Boolean inListPadding;
+
+    /** 开始构造的时间，没有注册监听器时为0，build后也置为0 */
+    private long startNanos;
+
     public LambdaPredicateBuilder(Class<T> poClass, LambdaSpecification<T> lambdaSpecification) {
         this.poClass = poClass;
         this.lambdaSpecification = lambdaSpecification;
+        if (LambdaSpecificationConfig.getSpecificationListener() != SpecificationListener.NOOP) {
+            this.startNanos = System.nanoTime();
+        }
     }
 
     /**
-     * <p>增加条件构造Function</p>
+     * <p>增加查询条件</p>
+     * 字段名在这里就解析好，toPredicate时不再重复解析
      * @author VincentHo
      * @date 2024/8/9
      * @param ignoreEmpty 空值忽略标志
      * @param value 值
-     * @param predicateFunction 条件构造Function
+     * @param conditionSupplier 条件构造Supplier
      * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder
      */
-    private LambdaPredicateBuilder<T> addPredicate(Boolean ignoreEmpty, Object value, BiFunction<Root, CriteriaBuilder, Predicate> predicateFunction) {
+    private LambdaPredicateBuilder<T> addPredicate(Boolean ignoreEmpty, Object value, Supplier<Condition> conditionSupplier) {
         // 自主选择是否忽略空值，也就是null时不加入该条件
         if(ignoreEmpty) {
             if(value == null) {
@@ -47,21 +59,119 @@ public class LambdaPredicateBuilder<T> {
             }
         }
 
-        lambdaSpecification.addPredicateFunction(predicateFunction);
+        return addPredicate(ignoreEmpty, conditionSupplier);
+
+    }
+
+    /**
+     * <p>增加查询条件</p>
+     * 占位符的值要到绑定时才知道，只记录下忽略空值标志，绑定时再判断
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param ignoreEmpty 空值忽略标志
+     * @param conditionSupplier 条件构造Supplier
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder
+     */
+    private LambdaPredicateBuilder<T> addPredicate(Boolean ignoreEmpty, Supplier<Condition> conditionSupplier) {
+        Condition condition = conditionSupplier.get();
+        lambdaSpecification.addCondition(condition.hasPlaceholder() ? condition.ignoreEmpty(ignoreEmpty) : condition);
+        return this;
+    }
+
+    /**
+     * <p>增加in/not in条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param ignoreEmpty 空值忽略标志
+     * @param values 值列表
+     * @param conditionSupplier 条件构造Supplier
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder
+     */
+    private LambdaPredicateBuilder<T> addInPredicate(Boolean ignoreEmpty, Object values, Supplier<Condition> conditionSupplier) {
+        if (inListPadding == null) {
+            return addPredicate(ignoreEmpty, values, conditionSupplier);
+        }
+        return addPredicate(ignoreEmpty, values, () -> conditionSupplier.get().inListPadding(inListPadding));
+    }
+
+    /**
+     * <p>设置后续in/not in条件是否补齐值列表</p>
+     * 开启后值列表会用最后一个值补齐到2的幂次长度，减少不同长度的值列表生成的SQL种类，
+     * 传null表示使用全局配置{@link com.vincenttho.jpa.config.LambdaSpecificationConfig#setInListPadding(boolean)}
+     * 如：LambdaSpecification.query(Po.class)
+     *           .inListPadding(true)
+     *           .in(Po::getId, ids)
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param inListPadding 是否补齐
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> inListPadding(Boolean inListPadding) {
+        this.inListPadding = inListPadding;
+        return this;
+    }
 
+    /**
+     * <p>按查询条件对象的注解增加条件</p>
+     * 条件对象的字段标注{@link com.vincenttho.jpa.annotation.Eq}、{@link com.vincenttho.jpa.annotation.In}、
+     * {@link com.vincenttho.jpa.annotation.Like}、{@link com.vincenttho.jpa.annotation.Between}等注解，
+     * 每个条件对象类只在第一次使用时解析一次，之后每次映射不再使用反射
+     * 如：LambdaSpecification.query(Po.class)
+     *           .apply(queryCondition)
+     *           .eq(Po::getStatus, 1)
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param conditionObject 查询条件对象，为null时不增加条件
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> apply(Object conditionObject) {
+        if (conditionObject == null) {
+            return this;
+        }
+        for (ConditionObjectMapper.Mapping mapping : ConditionObjectMapper.mappings(conditionObject.getClass())) {
+            Operator operator = mapping.getOperator();
+            String attributePath = mapping.getAttributePath();
+            Object value = mapping.value(conditionObject);
+            if (operator == Operator.IN || operator == Operator.NOT_IN) {
+                addInPredicate(mapping.isIgnoreEmpty(), value,
+                        () -> new Condition(operator, attributePath, (Collection<?>) value));
+            } else if (operator == Operator.BETWEEN) {
+                addBetweenPredicate(attributePath, (Collection<?>) value);
+            } else {
+                addPredicate(mapping.isIgnoreEmpty(), value, () -> new Condition(operator, attributePath, value));
+            }
+        }
         return this;
+    }
 
+    private void addBetweenPredicate(String attributePath, Collection<?> bounds) {
+        if (bounds == null || bounds.isEmpty()) {
+            return;
+        }
+        if (bounds.size() != 2) {
+            throw new IllegalArgumentException(String.format("条件对象映射失败，between条件需要两个值：%s", attributePath));
+        }
+        Iterator<?> iterator = bounds.iterator();
+        Object lower = iterator.next();
+        Object upper = iterator.next();
+        if (lower != null && upper != null) {
+            addPredicate(() -> new Condition(Operator.BETWEEN, attributePath, lower, upper));
+        } else if (lower != null) {
+            addPredicate(() -> new Condition(Operator.GE, attributePath, lower));
+        } else if (upper != null) {
+            addPredicate(() -> new Condition(Operator.LE, attributePath, upper));
+        }
     }
 
     /**
-     * <p>增加条件构造Function</p>
+     * <p>增加查询条件</p>
      * @author VincentHo
      * @date 2024/8/9
-     * @param predicateFunction
+     * @param conditionSupplier
      * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder
      */
-    private LambdaPredicateBuilder<T> addPredicate(BiFunction<Root, CriteriaBuilder, Predicate> predicateFunction) {
-        lambdaSpecification.addPredicateFunction(predicateFunction);
+    private LambdaPredicateBuilder<T> addPredicate(Supplier<Condition> conditionSupplier) {
+        lambdaSpecification.addCondition(conditionSupplier.get());
         return this;
     }
 
@@ -85,10 +195,147 @@ public class LambdaPredicateBuilder<T> {
         return this;
     }
 
+    /**
+     * <p>fetch join关联</p>
+     * 查询实体时关联数据一起查出，避免遍历结果时逐条懒加载（N+1），count查询和投影查询时自动跳过。
+     * 集合关联fetch后分页请使用{@link com.vincenttho.jpa.executor.LambdaQueryExecutor}，会先分页查主键再fetch
+     * 如：LambdaSpecification.query(Po.class)
+     *           .fetch(Po::getCustomer)
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 关联属性getter function，可以使用{@link PropertyPath}
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> fetch(SerializableFunction<T, ?> columnNameGetter) {
+        this.lambdaSpecification.addFetch(ColumnUtils.getColumnName((SerializableFunction) columnNameGetter));
+        return this;
+    }
+
+    /**
+     * <p>keyset分页</p>
+     * 按排序键生成 (a &lt; ?) or (a = ? and b &lt; ?) 形式的条件和对应的order by，
+     * 配合{@link com.vincenttho.jpa.executor.LambdaQueryExecutor#findKeysetPage}使用时会返回下一页的续页标记
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param keyset 排序键
+     * @param keyValues 上一页最后一行的排序键值，不传时表示第一页
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> seek(Keyset<T> keyset, Object ... keyValues) {
+        this.lambdaSpecification.seek(keyset, keyValues == null || keyValues.length == 0 ? null : keyValues);
+        return this;
+    }
+
+    /**
+     * <p>keyset分页，从指定行之后开始</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param keyset 排序键
+     * @param lastRow 上一页最后一行，为null时表示第一页
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> seekAfter(Keyset<T> keyset, T lastRow) {
+        this.lambdaSpecification.seek(keyset, lastRow == null ? null : keyset.keyValues(lastRow));
+        return this;
+    }
+
+    /**
+     * <p>keyset分页，从续页标记开始</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param keyset 排序键
+     * @param token 上一页返回的续页标记，为空时表示第一页
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> seekToken(Keyset<T> keyset, String token) {
+        this.lambdaSpecification.seek(keyset, token == null || token.isEmpty() ? null : keyset.parseToken(token));
+        return this;
+    }
+
+    /**
+     * <p>exists条件</p>
+     * 集合属性中存在满足子条件的元素，生成关联子查询，不需要join和去重
+     * 如：LambdaSpecification.query(Po.class)
+     *           .exists(Po::getItems, item -> item.eq(Item::getSku, "A001"))
+     *  条件会变成 select * from 表名 t where exists (select 1 from item i where i.order_id = t.id and i.sku = 'A001')
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 集合属性getter function
+     * @param subQuery 子条件构造
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public <E> LambdaPredicateBuilder<T> exists(SerializableFunction<T, ? extends Collection<E>> columnNameGetter,
+                                               Consumer<LambdaPredicateBuilder<E>> subQuery) {
+        return addExists(Operator.EXISTS, ColumnUtils.getColumnName((SerializableFunction) columnNameGetter), subQuery);
+    }
+
+    /**
+     * <p>exists条件</p>
+     * 多级集合属性路径，如：PropertyPath.of(Po::getCustomer).thenEach(Customer::getTags)
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param propertyPath 以集合属性结尾的属性路径
+     * @param subQuery 子条件构造
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public <E> LambdaPredicateBuilder<T> exists(PropertyPath<T, E> propertyPath, Consumer<LambdaPredicateBuilder<E>> subQuery) {
+        return addExists(Operator.EXISTS, propertyPath.getPath(), subQuery);
+    }
+
+    /**
+     * <p>not exists条件</p>
+     * 集合属性中不存在满足子条件的元素
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 集合属性getter function
+     * @param subQuery 子条件构造
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public <E> LambdaPredicateBuilder<T> notExists(SerializableFunction<T, ? extends Collection<E>> columnNameGetter,
+                                                  Consumer<LambdaPredicateBuilder<E>> subQuery) {
+        return addExists(Operator.NOT_EXISTS, ColumnUtils.getColumnName((SerializableFunction) columnNameGetter), subQuery);
+    }
+
+    /**
+     * <p>not exists条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param propertyPath 以集合属性结尾的属性路径
+     * @param subQuery 子条件构造
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public <E> LambdaPredicateBuilder<T> notExists(PropertyPath<T, E> propertyPath, Consumer<LambdaPredicateBuilder<E>> subQuery) {
+        return addExists(Operator.NOT_EXISTS, propertyPath.getPath(), subQuery);
+    }
+
+    private <E> LambdaPredicateBuilder<T> addExists(Operator operator, String attributePath, Consumer<LambdaPredicateBuilder<E>> subQuery) {
+        // 子查询的实体类型由集合属性决定，不需要指定
+        LambdaPredicateBuilder<E> subBuilder = LambdaSpecification.query(null);
+        subQuery.accept(subBuilder);
+        // 子条件集不是独立的查询，不调用build，不触发监听器的onBuild
+        return addPredicate(() -> new Condition(operator, attributePath, subBuilder.lambdaSpecification.freeze()));
+    }
+
     public LambdaSpecification<T> build() {
+        if (startNanos != 0L) {
+            long nanos = System.nanoTime() - startNanos;
+            startNanos = 0L;
+            LambdaSpecificationConfig.getSpecificationListener().onBuild(lambdaSpecification, nanos);
+        }
         return lambdaSpecification;
     }
 
+    /**
+     * <p>构造成模板</p>
+     * 条件值使用{@link Placeholder}占位，模板不可修改，可以在多线程间共享
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return com.vincenttho.jpa.domain.SpecificationTemplate<T>
+     */
+    public SpecificationTemplate<T> template() {
+        return lambdaSpecification.template();
+    }
+
     /**
      * <p>=条件</p>
      * @author VincentHo
@@ -112,7 +359,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> eq(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Object value) {
         return addPredicate(ignoreEmpty, value,
-                (root, criteriaBuilder) -> criteriaBuilder.equal(root.get(ColumnUtils.getColumnName(columnNameGetter)), value)
+                () -> new Condition(Operator.EQ, ColumnUtils.getColumnName(columnNameGetter), value)
         );
     }
 
@@ -126,7 +373,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> eq(SerializableFunction<T, Object> columnNameGetter1, SerializableFunction<T, Object> columnNameGetter2) {
         return addPredicate(
-                (root, criteriaBuilder) -> criteriaBuilder.equal(root.get(ColumnUtils.getColumnName(columnNameGetter1)), root.get(ColumnUtils.getColumnName(columnNameGetter2)))
+                () -> new Condition(Operator.EQ_COLUMN, ColumnUtils.getColumnName(columnNameGetter1), ColumnUtils.getColumnName(columnNameGetter2))
         );
     }
 
@@ -153,7 +400,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> notEq(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Object value) {
         return addPredicate(ignoreEmpty, value,
-                (root, criteriaBuilder) -> criteriaBuilder.notEqual(root.get(ColumnUtils.getColumnName(columnNameGetter)), value)
+                () -> new Condition(Operator.NOT_EQ, ColumnUtils.getColumnName(columnNameGetter), value)
         );
     }
 
@@ -167,7 +414,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> notEq(SerializableFunction<T, Object> columnNameGetter1, SerializableFunction<T, Object> columnNameGetter2) {
         return addPredicate(
-                (root, criteriaBuilder) -> criteriaBuilder.notEqual(root.get(ColumnUtils.getColumnName(columnNameGetter1)), root.get(ColumnUtils.getColumnName(columnNameGetter2)))
+                () -> new Condition(Operator.NOT_EQ_COLUMN, ColumnUtils.getColumnName(columnNameGetter1), ColumnUtils.getColumnName(columnNameGetter2))
         );
     }
 
@@ -193,14 +440,8 @@ public class LambdaPredicateBuilder<T> {
      * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
      */
     public LambdaPredicateBuilder<T> in(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Object ... values) {
-        return addPredicate(ignoreEmpty, values,
-                (root, criteriaBuilder) -> {
-                    CriteriaBuilder.In in = criteriaBuilder.in(root.get(ColumnUtils.getColumnName(columnNameGetter)));
-                    for(Object value : values) {
-                        in.value(value);
-                    }
-                    return in;
-                }
+        return addInPredicate(ignoreEmpty, values,
+                () -> new Condition(Operator.IN, ColumnUtils.getColumnName(columnNameGetter), values)
         );
     }
 
@@ -226,14 +467,8 @@ public class LambdaPredicateBuilder<T> {
      * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
      */
     public LambdaPredicateBuilder<T> in(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, List<Object> values) {
-        return addPredicate(ignoreEmpty, values,
-                (root, criteriaBuilder) -> {
-                    CriteriaBuilder.In in = criteriaBuilder.in(root.get(ColumnUtils.getColumnName(columnNameGetter)));
-                    for(Object value : values) {
-                        in.value(value);
-                    }
-                    return in;
-                }
+        return addInPredicate(ignoreEmpty, values,
+                () -> new Condition(Operator.IN, ColumnUtils.getColumnName(columnNameGetter), values)
         );
     }
 
@@ -259,14 +494,8 @@ public class LambdaPredicateBuilder<T> {
      * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
      */
     public LambdaPredicateBuilder<T> notIn(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Object ... values) {
-        return addPredicate(ignoreEmpty, values,
-                (root, criteriaBuilder) -> {
-                    CriteriaBuilder.In in = criteriaBuilder.in(root.get(ColumnUtils.getColumnName(columnNameGetter)));
-                    for(Object value : values) {
-                        in.value(value);
-                    }
-                    return in.not();
-                }
+        return addInPredicate(ignoreEmpty, values,
+                () -> new Condition(Operator.NOT_IN, ColumnUtils.getColumnName(columnNameGetter), values)
         );
     }
 
@@ -292,14 +521,8 @@ public class LambdaPredicateBuilder<T> {
      * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
      */
     public LambdaPredicateBuilder<T> notIn(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, List<Object> values) {
-        return addPredicate(ignoreEmpty, values,
-                (root, criteriaBuilder) -> {
-                    CriteriaBuilder.In in = criteriaBuilder.in(root.get(ColumnUtils.getColumnName(columnNameGetter)));
-                    for(Object value : values) {
-                        in.value(value);
-                    }
-                    return in.not();
-                }
+        return addInPredicate(ignoreEmpty, values,
+                () -> new Condition(Operator.NOT_IN, ColumnUtils.getColumnName(columnNameGetter), values)
         );
     }
 
@@ -312,7 +535,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> isNull(SerializableFunction<T, Object> columnNameGetter) {
         return addPredicate(
-                (root, criteriaBuilder) -> criteriaBuilder.isNull(root.get(ColumnUtils.getColumnName(columnNameGetter)))
+                () -> new Condition(Operator.IS_NULL, ColumnUtils.getColumnName(columnNameGetter))
         );
     }
 
@@ -325,7 +548,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> isNotNull(SerializableFunction<T, Object> columnNameGetter) {
         return addPredicate(
-                (root, criteriaBuilder) -> criteriaBuilder.isNotNull(root.get(ColumnUtils.getColumnName(columnNameGetter)))
+                () -> new Condition(Operator.IS_NOT_NULL, ColumnUtils.getColumnName(columnNameGetter))
         );
     }
 
@@ -352,7 +575,34 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> like(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, String value) {
         return addPredicate(ignoreEmpty, value,
-                (root, criteriaBuilder) -> criteriaBuilder.like(root.get(ColumnUtils.getColumnName(columnNameGetter)), value)
+                () -> new Condition(Operator.LIKE, ColumnUtils.getColumnName(columnNameGetter), value)
+        );
+    }
+
+    /**
+     * <p>like条件（模板占位符）</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 字段名getter function
+     * @param placeholder 占位符
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> like(SerializableFunction<T, Object> columnNameGetter, Placeholder placeholder) {
+        return like(false, columnNameGetter, placeholder);
+    }
+
+    /**
+     * <p>like条件（模板占位符）</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param ignoreEmpty 绑定值为空时是否忽略该条件
+     * @param columnNameGetter 字段名getter function
+     * @param placeholder 占位符
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> like(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Placeholder placeholder) {
+        return addPredicate(ignoreEmpty, placeholder,
+                () -> new Condition(Operator.LIKE, ColumnUtils.getColumnName(columnNameGetter), placeholder)
         );
     }
 
@@ -379,7 +629,34 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> notLike(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, String value) {
         return addPredicate(ignoreEmpty, value,
-                (root, criteriaBuilder) -> criteriaBuilder.notLike(root.get(ColumnUtils.getColumnName(columnNameGetter)), value)
+                () -> new Condition(Operator.NOT_LIKE, ColumnUtils.getColumnName(columnNameGetter), value)
+        );
+    }
+
+    /**
+     * <p>not like条件（模板占位符）</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 字段名getter function
+     * @param placeholder 占位符
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> notLike(SerializableFunction<T, Object> columnNameGetter, Placeholder placeholder) {
+        return notLike(false, columnNameGetter, placeholder);
+    }
+
+    /**
+     * <p>not like条件（模板占位符）</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param ignoreEmpty 绑定值为空时是否忽略该条件
+     * @param columnNameGetter 字段名getter function
+     * @param placeholder 占位符
+     * @return com.vincenttho.jpa.domain.LambdaPredicateBuilder<T>
+     */
+    public LambdaPredicateBuilder<T> notLike(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Placeholder placeholder) {
+        return addPredicate(ignoreEmpty, placeholder,
+                () -> new Condition(Operator.NOT_LIKE, ColumnUtils.getColumnName(columnNameGetter), placeholder)
         );
     }
 
@@ -406,7 +683,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> lt(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Comparable value) {
         return addPredicate(ignoreEmpty, value,
-                (root, criteriaBuilder) -> criteriaBuilder.lessThan(root.get(ColumnUtils.getColumnName(columnNameGetter)), value)
+                () -> new Condition(Operator.LT, ColumnUtils.getColumnName(columnNameGetter), value)
         );
     }
 
@@ -433,7 +710,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> le(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Comparable value) {
         return addPredicate(ignoreEmpty, value,
-                (root, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(root.get(ColumnUtils.getColumnName(columnNameGetter)), value)
+                () -> new Condition(Operator.LE, ColumnUtils.getColumnName(columnNameGetter), value)
         );
     }
 
@@ -460,7 +737,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> gt(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Comparable value) {
         return addPredicate(ignoreEmpty, value,
-                (root, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get(ColumnUtils.getColumnName(columnNameGetter)), value)
+                () -> new Condition(Operator.GT, ColumnUtils.getColumnName(columnNameGetter), value)
         );
     }
 
@@ -487,7 +764,7 @@ public class LambdaPredicateBuilder<T> {
      */
     public LambdaPredicateBuilder<T> ge(Boolean ignoreEmpty, SerializableFunction<T, Object> columnNameGetter, Comparable value) {
         return addPredicate(ignoreEmpty, value,
-                (root, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get(ColumnUtils.getColumnName(columnNameGetter)), value)
+                () -> new Condition(Operator.GE, ColumnUtils.getColumnName(columnNameGetter), value)
         );
     }
 
@@ -516,8 +793,8 @@ public class LambdaPredicateBuilder<T> {
         if(ignoreEmpty && (value1 == null || value2 == null)) {
             return this;
         }
-        return addPredicate(
-                (root, criteriaBuilder) -> criteriaBuilder.between(root.get(ColumnUtils.getColumnName(columnNameGetter)), value1, value2)
+        return addPredicate(ignoreEmpty,
+                () -> new Condition(Operator.BETWEEN, ColumnUtils.getColumnName(columnNameGetter), value1, value2)
         );
     }
 
@@ -1,16 +1,28 @@
 package com.vincenttho.jpa.domain;
 
+import com.vincenttho.jpa.config.LambdaSpecificationConfig;
 import com.vincenttho.jpa.enums.ConnectionType;
+import com.vincenttho.jpa.enums.Operator;
+import com.vincenttho.jpa.listener.SpecificationListener;
 import org.springframework.data.jpa.domain.Specification;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * <p>LambdaSpecification</p>
@@ -20,22 +32,185 @@ import java.util.stream.Collectors;
  */
 public class LambdaSpecification<T> implements Specification<T> {
 
+    private final List<Condition> conditions;
     private final List<BiFunction<Root, CriteriaBuilder, Predicate>> predicateFunctions;
     private final Class<T> poClass;
     private final List<LambdaSpecification> orSpecifications;
-    private ConnectionType connectionType;
+    private final ConnectionType connectionType;
+    /** 冻结后不可再修改，可以在多线程间共享 */
+    private final boolean frozen;
+    /** keyset分页的排序键，toPredicate时据此生成order by */
+    private Keyset<T> keyset;
+    /** 需要fetch join的关联属性路径 */
+    private final List<String> fetches;
+    /** 优化后是否恒假 */
+    private final boolean alwaysFalse;
+    /** 优化结果，修改条件时清除 */
+    private volatile LambdaSpecification<T> optimized;
+    /** 指纹，只在优化结果上缓存 */
+    private volatile Long shapeFingerprint;
+    private volatile Long fingerprint;
 
     private LambdaSpecification(Class<T> poClass) {
+        this(poClass, ConnectionType.AND);
+    }
+
+    private LambdaSpecification(Class<T> poClass, ConnectionType connectionType) {
+        this.conditions = new ArrayList<>();
         this.predicateFunctions = new ArrayList<>();
         this.poClass = poClass;
-        this.connectionType = ConnectionType.AND;
+        this.connectionType = connectionType;
         this.orSpecifications = new ArrayList<>();
+        this.fetches = new ArrayList<>();
+        this.frozen = false;
+        this.alwaysFalse = false;
+    }
+
+    private LambdaSpecification(Class<T> poClass, ConnectionType connectionType, List<Condition> conditions,
+                                List<BiFunction<Root, CriteriaBuilder, Predicate>> predicateFunctions,
+                                List<LambdaSpecification> orSpecifications, Keyset<T> keyset, List<String> fetches,
+                                boolean frozen, boolean alwaysFalse) {
+        this.conditions = conditions;
+        this.predicateFunctions = predicateFunctions;
+        this.poClass = poClass;
+        this.connectionType = connectionType;
+        this.orSpecifications = orSpecifications;
+        this.keyset = keyset;
+        this.fetches = fetches;
+        this.frozen = frozen;
+        this.alwaysFalse = alwaysFalse;
     }
 
     public static <T> LambdaPredicateBuilder<T> query(Class<T> poClazz) {
         return new LambdaPredicateBuilder(poClazz, new LambdaSpecification(poClazz));
     }
 
+    /**
+     * <p>用or连接多个条件集</p>
+     * 生成 (条件集1) or (条件集2) or ...；各条件集除了同一属性上的一个eq/in条件外其余条件都相同时，
+     * 合并成 相同条件 and 属性 in (所有值)，如多个eq(Po::getId, x)合并成一个in(Po::getId, ...)。
+     * fetch取并集，恒假的条件集直接去掉，不支持keyset分页
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param poClazz
+     * @param specifications 条件集，不能为空
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<T>
+     */
+    public static <T> LambdaSpecification<T> anyOf(Class<T> poClazz, List<LambdaSpecification<T>> specifications) {
+        if (specifications.isEmpty()) {
+            throw new IllegalArgumentException("用or连接的条件集不能为空");
+        }
+        LambdaSpecification<T> result = new LambdaSpecification<>(poClazz);
+        List<LambdaSpecification<T>> optimizedSpecifications = new ArrayList<>(specifications.size());
+        for (LambdaSpecification<T> specification : specifications) {
+            if (specification.keyset != null) {
+                throw new IllegalArgumentException("keyset分页的条件不能用or连接");
+            }
+            for (String fetch : specification.fetches) {
+                result.addFetch(fetch);
+            }
+            LambdaSpecification<T> optimized = specification.optimize();
+            if (!optimized.alwaysFalse) {
+                optimizedSpecifications.add(optimized);
+            }
+        }
+        if (optimizedSpecifications.isEmpty()) {
+            return specifications.get(0).optimize();
+        }
+
+        List<Condition> merged = mergeIn(optimizedSpecifications);
+        if (merged != null) {
+            result.conditions.addAll(merged);
+            return result;
+        }
+        LambdaSpecification<T> anySpecification = new LambdaSpecification<>(poClazz, ConnectionType.OR);
+        for (LambdaSpecification<T> optimized : optimizedSpecifications) {
+            anySpecification.orSpecifications.add(optimized.withConnectionType(ConnectionType.AND));
+        }
+        result.orSpecifications.add(anySpecification);
+        return result;
+    }
+
+    /**
+     * <p>合并只在同一属性的eq/in条件上不同的条件集</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specifications 优化后的条件集
+     * @return java.util.List<com.vincenttho.jpa.domain.Condition> 不能合并时返回null
+     */
+    private static <T> List<Condition> mergeIn(List<LambdaSpecification<T>> specifications) {
+        for (LambdaSpecification<T> specification : specifications) {
+            if (!specification.orSpecifications.isEmpty() || !specification.predicateFunctions.isEmpty()) {
+                return null;
+            }
+        }
+        List<Condition> common = new ArrayList<>(specifications.get(0).conditions);
+        for (LambdaSpecification<T> specification : specifications) {
+            common.retainAll(specification.conditions);
+        }
+        String attributePath = null;
+        Set<Object> values = new LinkedHashSet<>();
+        for (LambdaSpecification<T> specification : specifications) {
+            List<Condition> rest = new ArrayList<>(specification.conditions);
+            rest.removeAll(common);
+            if (rest.size() != 1) {
+                return null;
+            }
+            Condition condition = rest.get(0);
+            if ((condition.getOperator() != Operator.EQ && condition.getOperator() != Operator.IN)
+                    || condition.hasPlaceholder() || condition.getOperands().contains(null)) {
+                return null;
+            }
+            if (attributePath == null) {
+                attributePath = condition.getAttributePath();
+            } else if (!attributePath.equals(condition.getAttributePath())) {
+                return null;
+            }
+            values.addAll(condition.getOperands());
+        }
+        common.add(new Condition(Operator.IN, attributePath, new ArrayList<>(values)));
+        return common;
+    }
+
+    /**
+     * <p>批量更新</p>
+     * 如：LambdaSpecification.update(Po.class)
+     *           .set(Po::getStatus, "CLOSED")
+     *           .where(LambdaSpecification.query(Po.class).lt(Po::getCreateDate, date).build())
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param poClazz
+     * @return com.vincenttho.jpa.domain.LambdaUpdate<T>
+     */
+    public static <T> LambdaUpdate<T> update(Class<T> poClazz) {
+        return new LambdaUpdate<>(poClazz);
+    }
+
+    /**
+     * <p>批量删除</p>
+     * 如：LambdaSpecification.delete(Po.class)
+     *           .where(LambdaSpecification.query(Po.class).eq(Po::getStatus, "DELETED").build())
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param poClazz
+     * @return com.vincenttho.jpa.domain.LambdaDelete<T>
+     */
+    public static <T> LambdaDelete<T> delete(Class<T> poClazz) {
+        return new LambdaDelete<>(poClazz);
+    }
+
+    /**
+     * <p>增加查询条件</p>
+     * 条件在链式构造时已解析好字段名，toPredicate时直接翻译
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param condition
+     */
+    public void addCondition(Condition condition) {
+        beforeModify();
+        this.conditions.add(condition);
+    }
+
     /**
      * <p>增加条件构造Function</p>
      * 用于保存每个链式构造方法的条件构造Function
@@ -44,6 +219,7 @@ public class LambdaSpecification<T> implements Specification<T> {
      * @param predicateFunction
      */
     public void addPredicateFunction(BiFunction<Root, CriteriaBuilder, Predicate> predicateFunction) {
+        beforeModify();
         this.predicateFunctions.add(predicateFunction);
     }
 
@@ -57,30 +233,587 @@ public class LambdaSpecification<T> implements Specification<T> {
      *                 .eq(Po::getAge, 2)
      *           )
      *  这么写的话，条件会变成 select * from 表名 where id = '1' and (name = 'Vincent' or age = 2)
+     *  入参会被冻结复制，之后再修改入参不会影响这里的条件
      * @author VincentHo
      * @date 2024/8/9
      * @param specification
      * @return com.vincenttho.jpa.domain.LambdaSpecification<T>
      */
     public LambdaSpecification<T> andOr(LambdaSpecification specification) {
-        specification.connectionType = ConnectionType.OR;
-        this.orSpecifications.add(specification);
+        beforeModify();
+        // 冻结复制入参，不修改入参本身的连接类型（入参可能是共享的模板），之后对入参的修改也不会影响本条件集
+        this.orSpecifications.add(specification.freeze().withConnectionType(ConnectionType.OR));
+        return this;
+    }
+
+    /**
+     * <p>keyset分页</p>
+     * 按排序键生成 (a &lt; ?) or (a = ? and b &lt; ?) 形式的条件，并在toPredicate时按排序键生成order by
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param keyset 排序键
+     * @param keyValues 上一页最后一行的排序键值，为null时表示第一页，只生成order by
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<T>
+     */
+    public LambdaSpecification<T> seek(Keyset<T> keyset, Object[] keyValues) {
+        beforeModify();
+        if (this.keyset != null) {
+            throw new IllegalStateException("keyset分页只能设置一次");
+        }
+        this.keyset = keyset;
+        if (keyValues == null) {
+            return this;
+        }
+
+        List<Keyset.Key<T>> keys = keyset.getKeys();
+        if (keyValues.length != keys.size()) {
+            throw new IllegalArgumentException(String.format("排序键值数量与排序键数量不一致，排序键数量为：%s，排序键值数量为：%s",
+                    keys.size(), keyValues.length));
+        }
+        // (k1 > v1) or (k1 = v1 and k2 > v2) or ...，降序时用小于
+        LambdaSpecification<T> seekSpecification = new LambdaSpecification<>(poClass, ConnectionType.OR);
+        for (int i = 0; i < keys.size(); i++) {
+            LambdaSpecification<T> group = new LambdaSpecification<>(poClass, ConnectionType.AND);
+            for (int j = 0; j < i; j++) {
+                group.addCondition(new Condition(Operator.EQ, keys.get(j).getAttributePath(), keyValues[j]));
+            }
+            Keyset.Key<T> key = keys.get(i);
+            group.addCondition(new Condition(key.isAscending() ? Operator.GT : Operator.LT, key.getAttributePath(), keyValues[i]));
+            seekSpecification.orSpecifications.add(group);
+        }
+        this.orSpecifications.add(seekSpecification);
         return this;
     }
 
+    /**
+     * <p>增加fetch join</p>
+     * 查询实体时关联数据一起查出，避免N+1，count查询和投影查询时自动跳过
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param attributePath 关联属性路径
+     */
+    public void addFetch(String attributePath) {
+        beforeModify();
+        if (!this.fetches.contains(attributePath)) {
+            this.fetches.add(attributePath);
+        }
+    }
+
+    /**
+     * <p>冻结</p>
+     * 深拷贝出一个不可修改的LambdaSpecification，可以在多线程间共享，已经冻结的直接返回自身
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<T>
+     */
+    public LambdaSpecification<T> freeze() {
+        if (frozen) {
+            return this;
+        }
+        List<LambdaSpecification> frozenOrSpecifications = new ArrayList<>(orSpecifications.size());
+        for (LambdaSpecification orSpecification : orSpecifications) {
+            frozenOrSpecifications.add(orSpecification.freeze());
+        }
+        return new LambdaSpecification<>(poClass, connectionType,
+                Collections.unmodifiableList(new ArrayList<>(conditions)),
+                Collections.unmodifiableList(new ArrayList<>(predicateFunctions)),
+                Collections.unmodifiableList(frozenOrSpecifications), keyset,
+                Collections.unmodifiableList(new ArrayList<>(fetches)), true, false);
+    }
+
+    /**
+     * <p>转换成模板</p>
+     * 条件值可以使用{@link Placeholder}占位，每次查询时通过{@link SpecificationTemplate#bind(Object...)}绑定
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return com.vincenttho.jpa.domain.SpecificationTemplate<T>
+     */
+    public SpecificationTemplate<T> template() {
+        return new SpecificationTemplate<>(freeze());
+    }
+
+    /**
+     * <p>用新的条件集合复制一个冻结的LambdaSpecification</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param conditions 条件
+     * @param orSpecifications or条件集
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<T>
+     */
+    LambdaSpecification<T> copyFrozen(List<Condition> conditions, List<LambdaSpecification> orSpecifications) {
+        return new LambdaSpecification<>(poClass, connectionType,
+                Collections.unmodifiableList(conditions), predicateFunctions,
+                Collections.unmodifiableList(orSpecifications), keyset, fetches, true, false);
+    }
+
+    /**
+     * <p>用优化后的条件集合复制一个冻结的LambdaSpecification</p>
+     * 复制出的LambdaSpecification已经是优化结果，再次优化时直接返回自身
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param conditions 条件
+     * @param orSpecifications or条件集
+     * @param alwaysFalse 是否恒假
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<T>
+     */
+    LambdaSpecification<T> copyOptimized(List<Condition> conditions, List<BiFunction<Root, CriteriaBuilder, Predicate>> predicateFunctions,
+                                         List<LambdaSpecification> orSpecifications, boolean alwaysFalse) {
+        LambdaSpecification<T> copy = new LambdaSpecification<>(poClass, connectionType,
+                Collections.unmodifiableList(new ArrayList<>(conditions)),
+                Collections.unmodifiableList(new ArrayList<>(predicateFunctions)),
+                Collections.unmodifiableList(new ArrayList<>(orSpecifications)), keyset,
+                Collections.unmodifiableList(new ArrayList<>(fetches)), true, alwaysFalse);
+        copy.optimized = copy;
+        return copy;
+    }
+
+    /**
+     * <p>优化条件</p>
+     * 去掉重复条件、合并同一属性上的条件、去掉空的条件集并识别恒假的条件，见{@link SpecificationOptimizer}。
+     * 翻译时会自动优化；结果会缓存到下一次修改条件，指纹、equals、hashCode和翻译共用同一个优化结果
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<T> 冻结的优化结果
+     */
+    public LambdaSpecification<T> optimize() {
+        LambdaSpecification<T> result = optimized;
+        if (result == null) {
+            result = SpecificationOptimizer.optimize(this);
+            optimized = result;
+        }
+        return result;
+    }
+
+    /**
+     * <p>条件是否恒假</p>
+     * 恒假时不会有任何数据满足条件，执行器不再查询数据库
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return boolean
+     */
+    public boolean isAlwaysFalse() {
+        return optimize().alwaysFalse;
+    }
+
+    /**
+     * <p>是否没有任何条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return !alwaysFalse && conditions.isEmpty() && predicateFunctions.isEmpty() && orSpecifications.isEmpty();
+    }
+
+    boolean hasPredicateFunctions() {
+        return !predicateFunctions.isEmpty();
+    }
+
+    List<BiFunction<Root, CriteriaBuilder, Predicate>> getPredicateFunctions() {
+        return Collections.unmodifiableList(predicateFunctions);
+    }
+
+    /**
+     * <p>结构指纹</p>
+     * 基于优化后的条件树计算，不包含条件值，条件值不同但结构相同的查询指纹相同，用于按查询结构分组统计。
+     * and/or条件集中条件的先后顺序不影响指纹；修改条件前只计算一次
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return long
+     */
+    public long shapeFingerprint() {
+        LambdaSpecification<T> result = optimize();
+        Long value = result.shapeFingerprint;
+        if (value == null) {
+            value = SpecificationFingerprint.fingerprint(result, false);
+            result.shapeFingerprint = value;
+        }
+        return value;
+    }
+
+    /**
+     * <p>完整指纹</p>
+     * 在结构指纹的基础上包含条件值，与{@link #equals(Object)}一致，可以作为缓存的key。
+     * 自定义的条件构造Function无法比较内容，按对象计算；修改条件前只计算一次
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return long
+     */
+    public long fingerprint() {
+        LambdaSpecification<T> result = optimize();
+        Long value = result.fingerprint;
+        if (value == null) {
+            value = SpecificationFingerprint.fingerprint(result, true);
+            result.fingerprint = value;
+        }
+        return value;
+    }
+
+    /**
+     * <p>是否可以在内存中计算</p>
+     * 条件中（包括or、exists）有自定义的条件构造Function时不能在内存中计算，见{@link #test(Object)}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return boolean
+     */
+    public boolean isEvaluable() {
+        if (!predicateFunctions.isEmpty()) {
+            return false;
+        }
+        for (Condition condition : conditions) {
+            if ((condition.getOperator() == Operator.EXISTS || condition.getOperator() == Operator.NOT_EXISTS)
+                    && !((LambdaSpecification<?>) condition.getOperand()).isEvaluable()) {
+                return false;
+            }
+        }
+        for (LambdaSpecification orSpecification : orSpecifications) {
+            if (!orSpecification.isEvaluable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private LambdaSpecification<T> withConnectionType(ConnectionType connectionType) {
+        if (this.connectionType == connectionType) {
+            return this;
+        }
+        return new LambdaSpecification<>(poClass, connectionType, conditions, predicateFunctions, orSpecifications, keyset, fetches,
+                frozen, alwaysFalse);
+    }
+
+    /**
+     * 修改前检查是否已冻结，并清除缓存的优化结果
+     */
+    private void beforeModify() {
+        if (frozen) {
+            throw new IllegalStateException("LambdaSpecification已冻结，不能再修改");
+        }
+        optimized = null;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public Class<T> getPoClass() {
+        return poClass;
+    }
+
+    public ConnectionType getConnectionType() {
+        return connectionType;
+    }
+
+    public List<Condition> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
+    public List<LambdaSpecification> getOrSpecifications() {
+        return Collections.unmodifiableList(orSpecifications);
+    }
+
+    public Keyset<T> getKeyset() {
+        return keyset;
+    }
+
+    public List<String> getFetches() {
+        return Collections.unmodifiableList(fetches);
+    }
+
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
-        // 前面构造好的predicateFunctions执行并获得Predicate对象
-        List<Predicate> predicates = predicateFunctions.stream()
-                .map(function -> function.apply(root, criteriaBuilder))
-                .collect(Collectors.toList());
+        return toPredicate(root, query, criteriaBuilder, PredicateContext.literal(criteriaBuilder, query));
+    }
+
+    /**
+     * <p>使用指定的翻译上下文生成Predicate</p>
+     * 使用{@link PredicateContext#parameterized}时，条件值会以参数方式生成，查询创建后需要绑定参数
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param root
+     * @param query
+     * @param criteriaBuilder
+     * @param context 翻译上下文
+     * @return javax.persistence.criteria.Predicate
+     */
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder, PredicateContext context) {
+        SpecificationListener listener = LambdaSpecificationConfig.getSpecificationListener();
+        if (listener == SpecificationListener.NOOP) {
+            return translate(root, query, criteriaBuilder, context);
+        }
+        long start = System.nanoTime();
+        Predicate predicate = translate(root, query, criteriaBuilder, context);
+        long nanos = System.nanoTime() - start;
+        LambdaSpecification<T> optimized = optimize();
+        listener.onTranslate(optimized, nanos, optimized.countConditions(optimized, listener));
+        return predicate;
+    }
+
+    private Predicate translate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder, PredicateContext context) {
+        // count查询不需要排序
+        if (keyset != null && !Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
+            query.orderBy(toOrders(root, criteriaBuilder, context));
+        }
+        // 只有查询实体本身时才fetch，count查询和投影查询fetch会报错
+        if (!fetches.isEmpty() && root.getJavaType().equals(query.getResultType())) {
+            for (String fetch : fetches) {
+                context.fetch(root, fetch);
+            }
+        }
+        return toPredicate(root, context);
+    }
+
+    /**
+     * <p>在指定的From上生成Predicate</p>
+     * 只翻译条件，不处理排序和fetch，
+     * 用于exists子查询（From是子查询里关联出来的集合元素）和批量更新、删除
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param from
+     * @param context 翻译上下文
+     * @return javax.persistence.criteria.Predicate
+     */
+    public Predicate toPredicate(From<?, ?> from, PredicateContext context) {
+        LambdaSpecification<T> optimized = optimize();
+        if (optimized.alwaysFalse) {
+            return context.getCriteriaBuilder().disjunction();
+        }
+        // 先确定哪些关联可以inner join，再翻译条件
+        Set<String> innerJoinPaths = optimized.collectInnerJoinPaths(null);
+        if (innerJoinPaths != null) {
+            context.addInnerJoinPaths(from, innerJoinPaths);
+        }
+        return optimized.translate(from, context);
+    }
+
+    /**
+     * <p>统计条件数量</p>
+     * 包括or、exists中的条件，统计时把in/not in条件的值数量交给监听器
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param root 顶层条件，监听器回调时使用
+     * @param listener 监听器
+     * @return int
+     */
+    private int countConditions(LambdaSpecification<?> root, SpecificationListener listener) {
+        int count = predicateFunctions.size();
+        for (Condition condition : conditions) {
+            count++;
+            switch (condition.getOperator()) {
+                case IN:
+                case NOT_IN:
+                    listener.onInList(root, condition.getAttributePath(), condition.getOperands().size());
+                    break;
+                case EXISTS:
+                case NOT_EXISTS:
+                    count += ((LambdaSpecification<?>) condition.getOperand()).optimize().countConditions(root, listener);
+                    break;
+                default:
+                    break;
+            }
+        }
+        for (LambdaSpecification orSpecification : orSpecifications) {
+            count += orSpecification.countConditions(root, listener);
+        }
+        return count;
+    }
+
+    private Predicate translate(From<?, ?> from, PredicateContext context) {
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        List<Predicate> predicates = new ArrayList<>(conditions.size() + predicateFunctions.size() + orSpecifications.size());
+
+        // 链式构造时已解析好的条件，直接翻译成Predicate
+        for (Condition condition : conditions) {
+            predicates.add(context.toPredicate(condition, from));
+        }
+
+        // 自定义的条件构造Function
+        if (!predicateFunctions.isEmpty() && !(from instanceof Root)) {
+            throw new RuntimeException("动态查询生成失败，exists子查询中不支持自定义的条件构造Function");
+        }
+        for (BiFunction<Root, CriteriaBuilder, Predicate> function : predicateFunctions) {
+            predicates.add(function.apply((Root) from, criteriaBuilder));
+        }
 
-        List<Predicate> orPredicates = this.orSpecifications.stream().map(orSpecification -> orSpecification.toPredicate(root, query, criteriaBuilder)).collect(Collectors.toList());
+        for (LambdaSpecification orSpecification : orSpecifications) {
+            predicates.add(orSpecification.translate(from, context));
+        }
 
+        // 空的条件集恒真，or()没有条件时是恒假，不能直接生成
+        if (predicates.isEmpty()) {
+            return criteriaBuilder.and();
+        }
         Predicate[] predicateArr = predicates.toArray(new Predicate[predicates.size()]);
-        Predicate predicate = ConnectionType.AND.equals(connectionType) ? criteriaBuilder.and(predicateArr) : criteriaBuilder.or(predicateArr);
-        predicate.getExpressions().addAll(orPredicates);
-        return predicate;
+        return ConnectionType.AND.equals(connectionType) ? criteriaBuilder.and(predicateArr) : criteriaBuilder.or(predicateArr);
+    }
+
+    /**
+     * <p>在内存中判断对象是否满足条件</p>
+     * 按SQL的语义计算（null、like、between等），见{@link SpecificationEvaluator}，
+     * 不支持自定义的条件构造Function
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param t 对象
+     * @return boolean
+     */
+    public boolean test(T t) {
+        return Boolean.TRUE.equals(SpecificationEvaluator.evaluate(this, t));
+    }
+
+    /**
+     * <p>转换成java.util.function.Predicate</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return java.util.function.Predicate<T>
+     */
+    public java.util.function.Predicate<T> asPredicate() {
+        LambdaSpecification<T> optimized = optimize();
+        return optimized::test;
+    }
+
+    /**
+     * <p>在内存中过滤集合</p>
+     * 元素数量达到{@link LambdaSpecificationConfig#getParallelFilterThreshold()}时使用并行流，结果保持原来的顺序。
+     * 并行过滤时不要传入未加载的懒加载实体，EntityManager不是线程安全的
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param collection 集合
+     * @return java.util.List<T>
+     */
+    public List<T> filter(Collection<T> collection) {
+        java.util.function.Predicate<T> predicate = asPredicate();
+        Stream<T> stream = collection.size() >= LambdaSpecificationConfig.getParallelFilterThreshold()
+                ? collection.parallelStream() : collection.stream();
+        return stream.filter(predicate).collect(Collectors.toList());
+    }
+
+    /**
+     * <p>条件中是否有需要join的多级属性路径</p>
+     * exists子查询里的路径不需要外层join，不计算在内
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return boolean
+     */
+    public boolean hasJoinPaths() {
+        for (Condition condition : conditions) {
+            if (condition.getOperator() == Operator.EXISTS || condition.getOperator() == Operator.NOT_EXISTS) {
+                continue;
+            }
+            if (condition.getAttributePath().indexOf('.') >= 0) {
+                return true;
+            }
+            if ((condition.getOperator() == Operator.EQ_COLUMN || condition.getOperator() == Operator.NOT_EQ_COLUMN)
+                    && ((String) condition.getOperand()).indexOf('.') >= 0) {
+                return true;
+            }
+        }
+        for (LambdaSpecification orSpecification : orSpecifications) {
+            if (orSpecification.hasJoinPaths()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>条件中是否含有占位符</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return boolean
+     */
+    boolean hasPlaceholder() {
+        for (Condition condition : conditions) {
+            if (condition.hasPlaceholder()) {
+                return true;
+            }
+        }
+        for (LambdaSpecification orSpecification : orSpecifications) {
+            if (orSpecification.hasPlaceholder()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>收集可以使用inner join的关联路径</p>
+     * 只有顶层and条件里不接受null的条件才能让关联使用inner join，or条件里的关联必须left join
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param innerJoinPaths 已收集的关联路径，可以为null
+     * @return java.util.Set<java.lang.String> 没有多级属性路径时返回null
+     */
+    private Set<String> collectInnerJoinPaths(Set<String> innerJoinPaths) {
+        if (!ConnectionType.AND.equals(connectionType)) {
+            return innerJoinPaths;
+        }
+        for (Condition condition : conditions) {
+            if (!condition.isNullRejecting()) {
+                continue;
+            }
+            innerJoinPaths = addAssociationPaths(innerJoinPaths, condition.getAttributePath());
+            if (condition.getOperator() == Operator.EQ_COLUMN || condition.getOperator() == Operator.NOT_EQ_COLUMN) {
+                innerJoinPaths = addAssociationPaths(innerJoinPaths, (String) condition.getOperand());
+            }
+        }
+        for (LambdaSpecification orSpecification : orSpecifications) {
+            innerJoinPaths = orSpecification.collectInnerJoinPaths(innerJoinPaths);
+        }
+        return innerJoinPaths;
+    }
+
+    private static Set<String> addAssociationPaths(Set<String> associationPaths, String attributePath) {
+        int end = attributePath.indexOf('.');
+        while (end >= 0) {
+            if (associationPaths == null) {
+                associationPaths = new HashSet<>();
+            }
+            associationPaths.add(attributePath.substring(0, end));
+            end = attributePath.indexOf('.', end + 1);
+        }
+        return associationPaths;
+    }
+
+    private List<Order> toOrders(Root<T> root, CriteriaBuilder criteriaBuilder, PredicateContext context) {
+        List<Order> orders = new ArrayList<>(keyset.getKeys().size());
+        for (Keyset.Key<T> key : keyset.getKeys()) {
+            Path<?> path = context.path(root, key.getAttributePath());
+            orders.add(key.isAscending() ? criteriaBuilder.asc(path) : criteriaBuilder.desc(path));
+        }
+        return orders;
+    }
+
+    /**
+     * <p>比较优化后的条件树</p>
+     * and/or条件集按成员比较，与顺序无关。未冻结的LambdaSpecification仍可修改，不适合作为HashMap的key
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param o
+     * @return boolean
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LambdaSpecification)) {
+            return false;
+        }
+        LambdaSpecification<?> that = (LambdaSpecification<?>) o;
+        return fingerprint() == that.fingerprint() && SpecificationFingerprint.equivalent(optimize(), that.optimize());
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    @Override
+    public String toString() {
+        if (alwaysFalse) {
+            return "FALSE";
+        }
+        return connectionType + conditions.toString() + (orSpecifications.isEmpty() ? "" : orSpecifications.toString());
     }
 
 }
@@ -0,0 +1,72 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.utils.ColumnUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>批量更新</p>
+ * 复用LambdaSpecification的条件，生成一条 update ... set ... where ... 语句，
+ * 通过{@link com.vincenttho.jpa.executor.LambdaQueryExecutor#execute(LambdaUpdate)}执行。
+ * 批量更新不经过持久化上下文，不会触发实体监听器，也不会更新@Version字段
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class LambdaUpdate<T> {
+
+    private final Class<T> poClass;
+
+    /** 属性 -> 更新值，保持set的顺序 */
+    private final Map<String, Object> assignments = new LinkedHashMap<>();
+
+    private LambdaSpecification<T> specification;
+
+    LambdaUpdate(Class<T> poClass) {
+        this.poClass = poClass;
+    }
+
+    /**
+     * <p>设置更新值</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 字段名getter function
+     * @param value 更新值，可以为null
+     * @return com.vincenttho.jpa.domain.LambdaUpdate<T>
+     */
+    public LambdaUpdate<T> set(SerializableFunction<T, Object> columnNameGetter, Object value) {
+        String columnName = ColumnUtils.getColumnName(columnNameGetter);
+        if (columnName.indexOf('.') >= 0) {
+            throw new IllegalArgumentException(String.format("批量更新不能更新关联实体的属性：%s", columnName));
+        }
+        assignments.put(columnName, value);
+        return this;
+    }
+
+    /**
+     * <p>设置更新条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 条件，更新全表时传入没有条件的LambdaSpecification
+     * @return com.vincenttho.jpa.domain.LambdaUpdate<T>
+     */
+    public LambdaUpdate<T> where(LambdaSpecification<T> specification) {
+        this.specification = specification;
+        return this;
+    }
+
+    public Class<T> getPoClass() {
+        return poClass;
+    }
+
+    public Map<String, Object> getAssignments() {
+        return Collections.unmodifiableMap(assignments);
+    }
+
+    public LambdaSpecification<T> getSpecification() {
+        return specification;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.vincenttho.jpa.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * <p>条件值占位符</p>
+ * 用于构造{@link SpecificationTemplate}，模板在每次查询时通过bind绑定真实的值，
+ * 分为命名占位符和位置占位符两种
+ * 如：LambdaSpecification.query(Po.class)
+ *           .eq(Po::getOrderNo, Placeholder.of(0))
+ *           .like(Po::getName, Placeholder.of(1))
+ *           .template()
+ *           .bind(orderNo, name)
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class Placeholder implements Comparable<Placeholder>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+
+    private final int index;
+
+    private Placeholder(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * <p>命名占位符</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param name 占位符名称
+     * @return com.vincenttho.jpa.domain.Placeholder
+     */
+    public static Placeholder of(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("占位符名称不能为空");
+        }
+        return new Placeholder(name, -1);
+    }
+
+    /**
+     * <p>位置占位符</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param index 占位符位置，从0开始
+     * @return com.vincenttho.jpa.domain.Placeholder
+     */
+    public static Placeholder of(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException(String.format("占位符位置不能小于0，当前位置为：%s", index));
+        }
+        return new Placeholder(null, index);
+    }
+
+    public boolean isNamed() {
+        return name != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public int compareTo(Placeholder other) {
+        return toString().compareTo(other.toString());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Placeholder)) {
+            return false;
+        }
+        Placeholder that = (Placeholder) o;
+        return index == that.index && Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, index);
+    }
+
+    @Override
+    public String toString() {
+        return isNamed() ? ":" + name : "?" + index;
+    }
+
+}
@@ -0,0 +1,554 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.config.LambdaSpecificationConfig;
+import com.vincenttho.jpa.enums.Operator;
+import com.vincenttho.jpa.strategy.ChunkedInStrategy;
+import com.vincenttho.jpa.strategy.LargeInStrategy;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.criteria.CommonAbstractCriteria;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.FetchParent;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>条件翻译上下文</p>
+ * 一次toPredicate对应一个上下文，负责把{@link Condition}翻译成Predicate。
+ * 有两种值处理方式：
+ * 1. 字面量：条件值直接作为字面量交给CriteriaBuilder，Spring Data的findAll(spec)走这种方式
+ * 2. 参数绑定：条件值通过CriteriaBuilder.parameter生成参数，查询创建后再调用{@link #bindParameters(Query)}绑定，
+ *    同一个查询结构生成的JPQL完全一致，Hibernate的查询计划缓存可以命中
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class PredicateContext {
+
+    /** like的转义字符，与内存计算（{@link SpecificationEvaluator}）一致，不依赖数据库的默认值 */
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final CriteriaBuilder criteriaBuilder;
+
+    private final CommonAbstractCriteria query;
+
+    private final boolean parameterBinding;
+
+    private final Map<ParameterExpression<?>, Object> parameterValues;
+
+    /** 参数绑定方式下由执行器提供，供需要访问数据库的大in策略使用 */
+    private final EntityManager entityManager;
+
+    /** 查询执行完后需要执行的清理动作 */
+    private List<Runnable> cleanups;
+
+    /** exists子查询的上下文指向外层上下文，参数和清理动作都登记到外层 */
+    private final PredicateContext parent;
+
+    /** 按From记录的关联join，同一个From上相同的关联只join一次 */
+    private Map<From<?, ?>, Map<String, Join<?, ?>>> joins;
+
+    /** 按From记录的fetch join，key为关联属性路径 */
+    private Map<From<?, ?>, Map<String, Fetch<?, ?>>> fetches;
+
+    /** 按From记录的可以使用inner join的关联路径，其余关联使用left join */
+    private Map<From<?, ?>, Set<String>> innerJoinPaths;
+
+    private PredicateContext(CriteriaBuilder criteriaBuilder, CommonAbstractCriteria query, boolean parameterBinding,
+                             EntityManager entityManager) {
+        this.criteriaBuilder = criteriaBuilder;
+        this.query = query;
+        this.parameterBinding = parameterBinding;
+        this.parameterValues = parameterBinding ? new LinkedHashMap<>() : null;
+        this.entityManager = entityManager;
+        this.parent = null;
+    }
+
+    private PredicateContext(PredicateContext parent, Subquery<?> subquery) {
+        this.criteriaBuilder = parent.criteriaBuilder;
+        this.query = subquery;
+        this.parameterBinding = parent.parameterBinding;
+        this.parameterValues = parent.parameterValues;
+        this.entityManager = parent.entityManager;
+        this.parent = parent;
+    }
+
+    /**
+     * <p>字面量方式的上下文</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param criteriaBuilder
+     * @param query
+     * @return com.vincenttho.jpa.domain.PredicateContext
+     */
+    public static PredicateContext literal(CriteriaBuilder criteriaBuilder, CommonAbstractCriteria query) {
+        return new PredicateContext(criteriaBuilder, query, false, null);
+    }
+
+    /**
+     * <p>参数绑定方式的上下文</p>
+     * 查询创建后必须调用{@link #bindParameters(Query)}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param criteriaBuilder
+     * @param query
+     * @return com.vincenttho.jpa.domain.PredicateContext
+     */
+    public static PredicateContext parameterized(CriteriaBuilder criteriaBuilder, CommonAbstractCriteria query) {
+        return new PredicateContext(criteriaBuilder, query, true, null);
+    }
+
+    /**
+     * <p>参数绑定方式的上下文</p>
+     * 查询创建后必须调用{@link #bindParameters(Query)}，查询执行完后必须调用{@link #cleanup()}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param entityManager
+     * @param query
+     * @return com.vincenttho.jpa.domain.PredicateContext
+     */
+    public static PredicateContext parameterized(EntityManager entityManager, CommonAbstractCriteria query) {
+        return new PredicateContext(entityManager.getCriteriaBuilder(), query, true, entityManager);
+    }
+
+    public CriteriaBuilder getCriteriaBuilder() {
+        return criteriaBuilder;
+    }
+
+    public CommonAbstractCriteria getQuery() {
+        return query;
+    }
+
+    public boolean isParameterBinding() {
+        return parameterBinding;
+    }
+
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    /**
+     * <p>登记查询执行完后的清理动作</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param cleanup 清理动作
+     */
+    public void addCleanup(Runnable cleanup) {
+        if (parent != null) {
+            parent.addCleanup(cleanup);
+            return;
+        }
+        if (cleanups == null) {
+            cleanups = new ArrayList<>();
+        }
+        cleanups.add(cleanup);
+    }
+
+    /**
+     * <p>执行登记的清理动作</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     */
+    public void cleanup() {
+        if (cleanups == null) {
+            return;
+        }
+        List<Runnable> toRun = cleanups;
+        cleanups = null;
+        for (Runnable cleanup : toRun) {
+            cleanup.run();
+        }
+    }
+
+    /**
+     * <p>把翻译过程中生成的参数绑定到查询上</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param query
+     */
+    public void bindParameters(Query query) {
+        if (parameterValues == null) {
+            return;
+        }
+        for (Map.Entry<ParameterExpression<?>, Object> entry : parameterValues.entrySet()) {
+            query.setParameter((ParameterExpression<Object>) entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * <p>获取属性路径</p>
+     * 多级属性路径（如customer.region）中的关联会自动join，
+     * 同一个From上相同的关联只join一次，只有{@link #addInnerJoinPaths}登记过的关联使用inner join，其余使用left join
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param from
+     * @param attributePath 属性路径
+     * @return javax.persistence.criteria.Path
+     */
+    public Path<?> path(From<?, ?> from, String attributePath) {
+        Attribute<?, ?>[] attributes = attributes(from, attributePath);
+        From<?, ?> current = from;
+        Path<?> path = null;
+        int end = -1;
+        for (int i = 0; i < attributes.length - 1; i++) {
+            Attribute<?, ?> attribute = attributes[i];
+            end = attributePath.indexOf('.', end + 1);
+            if (path != null) {
+                path = path.get((SingularAttribute) attribute);
+            } else if (attribute.isAssociation() || attribute.isCollection()) {
+                current = join(current, attribute, isInnerJoinPath(from, attributePath.substring(0, end)) ? JoinType.INNER : JoinType.LEFT);
+            } else {
+                // 嵌入对象直接取路径
+                path = current.get((SingularAttribute) attribute);
+            }
+        }
+        Attribute<?, ?> attribute = attributes[attributes.length - 1];
+        Path<?> parent = path != null ? path : current;
+        // 集合属性没有对应的单值路径，按名称获取
+        return attribute instanceof SingularAttribute ? parent.get((SingularAttribute) attribute) : parent.get(attribute.getName());
+    }
+
+    /**
+     * <p>解析属性路径对应的元模型属性</p>
+     * 解析结果按实体缓存，见{@link AttributeResolver}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param from
+     * @param attributePath 属性路径
+     * @return javax.persistence.metamodel.Attribute<?,?>[]
+     */
+    private static Attribute<?, ?>[] attributes(From<?, ?> from, String attributePath) {
+        try {
+            return AttributeResolver.resolve(managedType(from), attributePath);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(String.format("动态查询生成失败，%s", e.getMessage()), e);
+        }
+    }
+
+    /**
+     * <p>fetch join关联</p>
+     * 使用left join fetch，不影响查询结果的行数（集合关联会让查询去重）。
+     * 单值关联的fetch join同时登记为普通join，条件中的同一关联直接复用，不再重复join
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param from
+     * @param attributePath 关联属性路径，如customer、customer.region
+     */
+    public void fetch(From<?, ?> from, String attributePath) {
+        if (fetches == null) {
+            fetches = new IdentityHashMap<>();
+        }
+        Map<String, Fetch<?, ?>> fromFetches = fetches.computeIfAbsent(from, key -> new HashMap<>());
+        FetchParent<?, ?> parent = from;
+        Attribute<?, ?>[] attributes = attributes(from, attributePath);
+        int end = -1;
+        for (Attribute<?, ?> attribute : attributes) {
+            end = attributePath.indexOf('.', end + 1);
+            String associationPath = end < 0 ? attributePath : attributePath.substring(0, end);
+            String attributeName = attribute.getName();
+            Fetch<?, ?> fetch = fromFetches.get(associationPath);
+            if (fetch == null) {
+                fetch = parent.fetch(attributeName, JoinType.LEFT);
+                fromFetches.put(associationPath, fetch);
+                if (attribute.isCollection()) {
+                    if (query instanceof CriteriaQuery) {
+                        ((CriteriaQuery<?>) query).distinct(true);
+                    }
+                } else if (fetch instanceof Join && parent instanceof From) {
+                    // Hibernate的Fetch同时也是Join，可以直接用于条件
+                    if (joins == null) {
+                        joins = new IdentityHashMap<>();
+                    }
+                    joins.computeIfAbsent((From<?, ?>) parent, key -> new HashMap<>()).putIfAbsent(attributeName, (Join<?, ?>) fetch);
+                }
+            }
+            parent = fetch;
+        }
+    }
+
+    /**
+     * <p>登记可以使用inner join的关联路径</p>
+     * 条件中不接受null的关联（位于顶层and条件中、且不是is null）可以使用inner join，
+     * 其余关联（如只出现在or条件里）使用left join，避免没有关联数据的行被过滤掉
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param from
+     * @param associationPaths 关联路径，如customer、customer.region
+     */
+    public void addInnerJoinPaths(From<?, ?> from, Set<String> associationPaths) {
+        if (innerJoinPaths == null) {
+            innerJoinPaths = new IdentityHashMap<>();
+        }
+        innerJoinPaths.computeIfAbsent(from, key -> new HashSet<>()).addAll(associationPaths);
+    }
+
+    private boolean isInnerJoinPath(From<?, ?> from, String associationPath) {
+        Set<String> fromInnerJoinPaths = innerJoinPaths == null ? null : innerJoinPaths.get(from);
+        return fromInnerJoinPaths != null && fromInnerJoinPaths.contains(associationPath);
+    }
+
+    private Join<?, ?> join(From<?, ?> from, Attribute<?, ?> attribute, JoinType joinType) {
+        if (joins == null) {
+            joins = new IdentityHashMap<>();
+        }
+        Map<String, Join<?, ?>> fromJoins = joins.computeIfAbsent(from, key -> new HashMap<>());
+        Join<?, ?> join = fromJoins.get(attribute.getName());
+        if (join == null) {
+            join = from.join(attribute.getName(), joinType);
+            // 集合关联join后主表的行会重复
+            if (attribute.isCollection() && query instanceof CriteriaQuery) {
+                ((CriteriaQuery<?>) query).distinct(true);
+            }
+            fromJoins.put(attribute.getName(), join);
+        }
+        return join;
+    }
+
+    private static ManagedType<?> managedType(From<?, ?> from) {
+        if (from instanceof Root) {
+            return ((Root<?>) from).getModel();
+        }
+        return managedType(((Join<?, ?>) from).getAttribute());
+    }
+
+    private static ManagedType<?> managedType(Attribute<?, ?> attribute) {
+        ManagedType<?> managedType = AttributeResolver.managedType(attribute);
+        if (managedType == null) {
+            throw new RuntimeException(String.format("动态查询生成失败，属性不是关联实体：%s", attribute.getName()));
+        }
+        return managedType;
+    }
+
+    /**
+     * <p>把单个条件翻译成Predicate</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param condition 条件
+     * @param from
+     * @return javax.persistence.criteria.Predicate
+     */
+    public Predicate toPredicate(Condition condition, From<?, ?> from) {
+        if (condition.hasPlaceholder()) {
+            throw new RuntimeException(String.format("动态查询生成失败，条件中存在未绑定的占位符：%s", condition));
+        }
+
+        // exists在子查询中关联集合，外层不需要join
+        if (condition.getOperator() == Operator.EXISTS || condition.getOperator() == Operator.NOT_EXISTS) {
+            return exists(condition, from, condition.getOperator() == Operator.NOT_EXISTS);
+        }
+
+        Path path = path(from, condition.getAttributePath());
+        List<Object> operands = condition.getOperands();
+        Object value = condition.getOperand();
+        switch (condition.getOperator()) {
+            case EQ:
+                return useParameter(value) ? criteriaBuilder.equal(path, parameter(value)) : criteriaBuilder.equal(path, value);
+            case NOT_EQ:
+                return useParameter(value) ? criteriaBuilder.notEqual(path, parameter(value)) : criteriaBuilder.notEqual(path, value);
+            case EQ_COLUMN:
+                return criteriaBuilder.equal(path, path(from, (String) value));
+            case NOT_EQ_COLUMN:
+                return criteriaBuilder.notEqual(path, path(from, (String) value));
+            case IN:
+                return in(path, operands, condition.getInListPadding(), false);
+            case NOT_IN:
+                return in(path, operands, condition.getInListPadding(), true);
+            case IS_NULL:
+                return criteriaBuilder.isNull(path);
+            case IS_NOT_NULL:
+                return criteriaBuilder.isNotNull(path);
+            case LIKE:
+                return useParameter(value) ? criteriaBuilder.like(path, parameter((String) value), LIKE_ESCAPE)
+                        : criteriaBuilder.like(path, (String) value, LIKE_ESCAPE);
+            case NOT_LIKE:
+                return useParameter(value) ? criteriaBuilder.notLike(path, parameter((String) value), LIKE_ESCAPE)
+                        : criteriaBuilder.notLike(path, (String) value, LIKE_ESCAPE);
+            case LT:
+                return useParameter(value) ? criteriaBuilder.lessThan(path, parameter((Comparable) value)) : criteriaBuilder.lessThan(path, (Comparable) value);
+            case LE:
+                return useParameter(value) ? criteriaBuilder.lessThanOrEqualTo(path, parameter((Comparable) value)) : criteriaBuilder.lessThanOrEqualTo(path, (Comparable) value);
+            case GT:
+                return useParameter(value) ? criteriaBuilder.greaterThan(path, parameter((Comparable) value)) : criteriaBuilder.greaterThan(path, (Comparable) value);
+            case GE:
+                return useParameter(value) ? criteriaBuilder.greaterThanOrEqualTo(path, parameter((Comparable) value)) : criteriaBuilder.greaterThanOrEqualTo(path, (Comparable) value);
+            case BETWEEN:
+                Comparable lower = (Comparable) operands.get(0);
+                Comparable upper = (Comparable) operands.get(1);
+                if (useParameter(lower) && useParameter(upper)) {
+                    return criteriaBuilder.between(path, parameter(lower), parameter(upper));
+                }
+                return criteriaBuilder.between(path, lower, upper);
+            default:
+                throw new RuntimeException(String.format("动态查询生成失败，不支持的操作符：%s", condition.getOperator()));
+        }
+    }
+
+    /**
+     * <p>exists/not exists条件</p>
+     * 生成关联子查询 exists (select 1 from 集合元素 where 元素关联到外层行 and 子条件)，
+     * 数据库可以使用semi join，外层查询不会产生重复行
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param condition 条件，属性路径为集合属性，操作数为子条件
+     * @param from 外层From
+     * @param not 是否not exists
+     * @return javax.persistence.criteria.Predicate
+     */
+    private Predicate exists(Condition condition, From<?, ?> from, boolean not) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        PredicateContext subContext = new PredicateContext(this, subquery);
+        From<?, ?> current = from instanceof Root ? subquery.correlate((Root<?>) from) : subquery.correlate((Join<?, ?>) from);
+
+        // 子查询里的关联都用inner join
+        for (Attribute<?, ?> attribute : attributes(current, condition.getAttributePath())) {
+            current = subContext.join(current, attribute, JoinType.INNER);
+        }
+
+        LambdaSpecification<?> subSpecification = (LambdaSpecification<?>) condition.getOperand();
+        subquery.select(criteriaBuilder.literal(1)).where(subSpecification.toPredicate(current, subContext));
+        Predicate exists = criteriaBuilder.exists(subquery);
+        return not ? criteriaBuilder.not(exists) : exists;
+    }
+
+    /**
+     * <p>in/not in条件</p>
+     * 值数量超过{@link LambdaSpecificationConfig#getLargeInThreshold()}且配置了大in策略时交给策略处理，
+     * 否则按需补齐值列表后生成普通的in条件
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param path
+     * @param values 值列表
+     * @param inListPadding 是否补齐，null时使用全局配置
+     * @param not 是否not in
+     * @return javax.persistence.criteria.Predicate
+     */
+    public Predicate in(Path<?> path, List<Object> values, Boolean inListPadding, boolean not) {
+        LargeInStrategy largeInStrategy = LambdaSpecificationConfig.getLargeInStrategy();
+        if (largeInStrategy != null && values.size() > LambdaSpecificationConfig.getLargeInThreshold()) {
+            // 数组、临时表不能保存null，按SQL的三值逻辑处理：in中的null不会命中，not in中有null时没有任何行满足条件
+            if (values.contains(null)) {
+                if (not) {
+                    return criteriaBuilder.disjunction();
+                }
+                values = values.stream().filter(Objects::nonNull).collect(Collectors.toList());
+                if (values.isEmpty()) {
+                    return criteriaBuilder.disjunction();
+                }
+            }
+            if (!largeInStrategy.supports(this, path, values)) {
+                largeInStrategy = ChunkedInStrategy.DEFAULT;
+            }
+            return largeInStrategy.toPredicate(this, path, values, not);
+        }
+        return inList(path, values, inListPadding, not);
+    }
+
+    /**
+     * <p>生成普通的in/not in条件</p>
+     * 不经过大in策略，供大in策略生成分段条件使用
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param path
+     * @param values 值列表
+     * @param inListPadding 是否补齐，null时使用全局配置
+     * @param not 是否not in
+     * @return javax.persistence.criteria.Predicate
+     */
+    public Predicate inList(Path<?> path, List<Object> values, Boolean inListPadding, boolean not) {
+        boolean padding = inListPadding != null ? inListPadding : LambdaSpecificationConfig.isInListPadding();
+        CriteriaBuilder.In in = criteriaBuilder.in(path);
+        for (Object value : padding ? padInList(values) : values) {
+            if (useParameter(value)) {
+                in.value(parameter(value));
+            } else {
+                in.value(value);
+            }
+        }
+        return not ? in.not() : in;
+    }
+
+    /**
+     * <p>补齐in值列表</p>
+     * 用最后一个值把值列表补齐到2的幂次长度，重复的值不影响查询结果
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param values 值列表
+     * @return java.util.List<java.lang.Object>
+     */
+    private static List<Object> padInList(List<Object> values) {
+        int size = values.size();
+        if (size < 2) {
+            return values;
+        }
+        int paddedSize = Integer.highestOneBit(size - 1) << 1;
+        if (paddedSize == size || paddedSize <= 0) {
+            return values;
+        }
+        List<Object> paddedValues = new ArrayList<>(paddedSize);
+        paddedValues.addAll(values);
+        Object last = values.get(size - 1);
+        for (int i = size; i < paddedSize; i++) {
+            paddedValues.add(last);
+        }
+        return paddedValues;
+    }
+
+    /**
+     * null值保持字面量方式，与原来的翻译结果一致
+     */
+    private boolean useParameter(Object value) {
+        return parameterBinding && value != null;
+    }
+
+    /**
+     * <p>为条件值生成参数</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param value 条件值
+     * @return javax.persistence.criteria.ParameterExpression<V>
+     */
+    public <V> ParameterExpression<V> parameter(V value) {
+        return parameter((Class<V>) value.getClass(), value);
+    }
+
+    /**
+     * <p>生成指定类型的参数</p>
+     * 绑定值可以是JPA实现自己的带类型参数值（如Hibernate的TypedParameterValue）
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param type 参数类型
+     * @param value 绑定值
+     * @return javax.persistence.criteria.ParameterExpression<V>
+     */
+    public <V> ParameterExpression<V> parameter(Class<V> type, Object value) {
+        if (!parameterBinding) {
+            throw new IllegalStateException("字面量方式的上下文不能生成参数");
+        }
+        ParameterExpression<V> parameter = criteriaBuilder.parameter(type);
+        parameterValues.put(parameter, value);
+        return parameter;
+    }
+
+}
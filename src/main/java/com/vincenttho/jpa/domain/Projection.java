@@ -0,0 +1,154 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.utils.ColumnUtils;
+
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>投影</p>
+ * 只查询需要的字段，不加载实体，查询结果也不会进入持久化上下文。
+ * 配合{@link com.vincenttho.jpa.executor.LambdaQueryExecutor#findAll(LambdaSpecification, Projection)}使用
+ * 如：executor.findAll(spec, Projection.tuple(Po::getPid, Po::getOrderNo))
+ *     executor.findAll(spec, Projection.constructor(PoDTO.class, Po::getPid, Po::getOrderNo))
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class Projection<T, R> {
+
+    private final Class<R> resultClass;
+
+    private final List<String> attributePaths;
+
+    /** 是否使用构造方法生成结果 */
+    private final boolean construct;
+
+    private Projection(Class<R> resultClass, List<String> attributePaths, boolean construct) {
+        this.resultClass = resultClass;
+        this.attributePaths = attributePaths;
+        this.construct = construct;
+    }
+
+    /**
+     * <p>Tuple投影</p>
+     * Tuple的别名为属性路径，多级属性路径中的.替换为_，如：tuple.get("orderNo")、tuple.get("customer_region")
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetters 字段名getter function，可以使用{@link PropertyPath}
+     * @return com.vincenttho.jpa.domain.Projection<T, javax.persistence.Tuple>
+     */
+    @SafeVarargs
+    public static <T> Projection<T, Tuple> tuple(SerializableFunction<T, Object> ... columnNameGetters) {
+        return new Projection<>(Tuple.class, columnNames(columnNameGetters), false);
+    }
+
+    /**
+     * <p>构造方法投影</p>
+     * DTO需要有参数类型、顺序与字段一致的构造方法
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param dtoClass DTO类型
+     * @param columnNameGetters 字段名getter function，可以使用{@link PropertyPath}
+     * @return com.vincenttho.jpa.domain.Projection<T, R>
+     */
+    @SafeVarargs
+    public static <T, R> Projection<T, R> constructor(Class<R> dtoClass, SerializableFunction<T, Object> ... columnNameGetters) {
+        return new Projection<>(dtoClass, columnNames(columnNameGetters), true);
+    }
+
+    /**
+     * <p>单字段投影</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param valueClass 字段类型
+     * @param columnNameGetter 字段名getter function，可以使用{@link PropertyPath}
+     * @return com.vincenttho.jpa.domain.Projection<T, R>
+     */
+    public static <T, R> Projection<T, R> column(Class<R> valueClass, SerializableFunction<T, Object> columnNameGetter) {
+        return new Projection<>(valueClass, Collections.singletonList(ColumnUtils.getColumnName(columnNameGetter)), false);
+    }
+
+    private static <T> List<String> columnNames(SerializableFunction<T, Object>[] columnNameGetters) {
+        if (columnNameGetters.length == 0) {
+            throw new IllegalArgumentException("投影至少需要一个字段");
+        }
+        List<String> columnNames = new ArrayList<>(columnNameGetters.length);
+        for (SerializableFunction<T, Object> columnNameGetter : columnNameGetters) {
+            columnNames.add(ColumnUtils.getColumnName(columnNameGetter));
+        }
+        return Collections.unmodifiableList(columnNames);
+    }
+
+    public Class<R> getResultClass() {
+        return resultClass;
+    }
+
+    public List<String> getAttributePaths() {
+        return attributePaths;
+    }
+
+    /**
+     * <p>创建查询</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param criteriaBuilder
+     * @return javax.persistence.criteria.CriteriaQuery<R>
+     */
+    public CriteriaQuery<R> createQuery(CriteriaBuilder criteriaBuilder) {
+        if (Tuple.class.equals(resultClass)) {
+            return (CriteriaQuery<R>) criteriaBuilder.createTupleQuery();
+        }
+        return criteriaBuilder.createQuery(resultClass);
+    }
+
+    /**
+     * <p>设置查询字段</p>
+     * 多级属性路径的关联与条件共用同一个join
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param criteriaQuery
+     * @param from
+     * @param context 翻译上下文
+     */
+    public void select(CriteriaQuery<R> criteriaQuery, From<?, ?> from, PredicateContext context) {
+        List<Selection<?>> selections = new ArrayList<>(attributePaths.size());
+        for (String attributePath : attributePaths) {
+            selections.add(context.path(from, attributePath).alias(attributePath.replace('.', '_')));
+        }
+        if (construct) {
+            criteriaQuery.select(context.getCriteriaBuilder().construct(resultClass, selections.toArray(new Selection[0])));
+        } else if (Tuple.class.equals(resultClass)) {
+            criteriaQuery.multiselect(selections);
+        } else {
+            criteriaQuery.select((Selection<R>) selections.get(0));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Projection)) {
+            return false;
+        }
+        Projection<?, ?> that = (Projection<?, ?>) o;
+        return construct == that.construct
+                && resultClass.equals(that.resultClass)
+                && attributePaths.equals(that.attributePaths);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resultClass, attributePaths, construct);
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.utils.ColumnUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>多级属性路径</p>
+ * 用于关联实体上的条件，可以在所有条件构造方法中代替getter使用，
+ * 翻译时关联会自动join，同一个Root上相同的关联只join一次
+ * 如：LambdaSpecification.query(Po.class)
+ *           .eq(PropertyPath.of(Po::getCustomer).then(Customer::getRegion), "EU")
+ *  条件会变成 select * from 表名 t inner join customer c on ... where c.region = 'EU'
+ * 集合属性使用ofEach/thenEach，如：PropertyPath.ofEach(Po::getItems).then(Item::getSku)，
+ * 集合关联join后查询会自动去重
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class PropertyPath<T, V> implements SerializableFunction<T, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 点分隔的属性路径，如customer.region */
+    private final String path;
+
+    private final List<SerializableFunction> getters;
+
+    /** 每一级是否集合属性 */
+    private final List<Boolean> collections;
+
+    private PropertyPath(String path, List<SerializableFunction> getters, List<Boolean> collections) {
+        this.path = path;
+        this.getters = getters;
+        this.collections = collections;
+    }
+
+    /**
+     * <p>从第一级属性开始</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 字段名getter function
+     * @return com.vincenttho.jpa.domain.PropertyPath<T, V>
+     */
+    public static <T, V> PropertyPath<T, V> of(SerializableFunction<T, V> columnNameGetter) {
+        return new PropertyPath<>(ColumnUtils.getColumnName((SerializableFunction) columnNameGetter),
+                Collections.singletonList(columnNameGetter), Collections.singletonList(false));
+    }
+
+    /**
+     * <p>从第一级集合属性开始</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 集合属性getter function
+     * @return com.vincenttho.jpa.domain.PropertyPath<T, E>
+     */
+    public static <T, E> PropertyPath<T, E> ofEach(SerializableFunction<T, ? extends Collection<E>> columnNameGetter) {
+        return new PropertyPath<>(ColumnUtils.getColumnName((SerializableFunction) columnNameGetter),
+                Collections.singletonList(columnNameGetter), Collections.singletonList(true));
+    }
+
+    /**
+     * <p>下一级属性</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 字段名getter function
+     * @return com.vincenttho.jpa.domain.PropertyPath<T, R>
+     */
+    public <R> PropertyPath<T, R> then(SerializableFunction<V, R> columnNameGetter) {
+        return append(columnNameGetter, false);
+    }
+
+    /**
+     * <p>下一级集合属性</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter 集合属性getter function
+     * @return com.vincenttho.jpa.domain.PropertyPath<T, E>
+     */
+    public <E> PropertyPath<T, E> thenEach(SerializableFunction<V, ? extends Collection<E>> columnNameGetter) {
+        return append(columnNameGetter, true);
+    }
+
+    private <R> PropertyPath<T, R> append(SerializableFunction columnNameGetter, boolean collection) {
+        List<SerializableFunction> newGetters = new ArrayList<>(getters.size() + 1);
+        newGetters.addAll(getters);
+        newGetters.add(columnNameGetter);
+        List<Boolean> newCollections = new ArrayList<>(collections.size() + 1);
+        newCollections.addAll(collections);
+        newCollections.add(collection);
+        return new PropertyPath<>(path + "." + ColumnUtils.getColumnName(columnNameGetter),
+                Collections.unmodifiableList(newGetters), Collections.unmodifiableList(newCollections));
+    }
+
+    public boolean isCollection() {
+        return collections.contains(Boolean.TRUE);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * <p>逐级取值</p>
+     * 中间某一级为null时返回null，经过集合属性时返回所有元素取值的列表
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param t
+     * @return java.lang.Object
+     */
+    @Override
+    public Object apply(T t) {
+        if (!isCollection()) {
+            Object value = t;
+            for (SerializableFunction getter : getters) {
+                if (value == null) {
+                    return null;
+                }
+                value = getter.apply(value);
+            }
+            return value;
+        }
+        List<Object> values = new ArrayList<>();
+        collect(t, 0, values);
+        return values;
+    }
+
+    private void collect(Object value, int index, List<Object> values) {
+        if (index == getters.size()) {
+            values.add(value);
+            return;
+        }
+        if (value == null) {
+            return;
+        }
+        Object next = getters.get(index).apply(value);
+        if (collections.get(index)) {
+            if (next != null) {
+                for (Object element : (Collection<?>) next) {
+                    collect(element, index + 1, values);
+                }
+            }
+        } else {
+            collect(next, index + 1, values);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+}
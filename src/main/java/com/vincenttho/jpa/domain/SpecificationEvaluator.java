@@ -0,0 +1,377 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.enums.ConnectionType;
+import com.vincenttho.jpa.enums.Operator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * <p>在内存中计算条件</p>
+ * 按SQL的三值逻辑计算：与null比较（=、&lt;、like、in等）的结果是UNKNOWN（用null表示），
+ * not UNKNOWN仍是UNKNOWN，and/or按SQL的真值表组合，最终只有TRUE的对象满足条件；
+ * in列表里有null且没有匹配的值时是UNKNOWN，所以not in列表里有null时没有对象满足条件；
+ * like支持%和_通配符，区分大小写，\作为转义字符（翻译时显式指定escape '\'）；
+ * between包含两端；数字按数值比较（1L与1相等），日期按时间戳比较。
+ * 经过集合属性的路径只要任意一个元素满足条件即可（相当于join后去重），
+ * 集合为空时按null计算（相当于left join）；
+ * 同一集合路径上的多个条件分别计算，不要求满足条件的是同一个元素，需要同一个元素时使用exists
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+final class SpecificationEvaluator {
+
+    /** 属性取值方法缓存，类 -> 属性名 -> 取值方法 */
+    private static final ClassValue<Map<String, Function<Object, Object>>> ACCESSORS = new ClassValue<Map<String, Function<Object, Object>>>() {
+        @Override
+        protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private SpecificationEvaluator() {
+    }
+
+    /**
+     * <p>计算条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param row 数据
+     * @return java.lang.Boolean TRUE、FALSE或者null（UNKNOWN）
+     */
+    static Boolean evaluate(LambdaSpecification<?> specification, Object row) {
+        LambdaSpecification<?> optimized = specification.optimize();
+        if (optimized.isAlwaysFalse()) {
+            return Boolean.FALSE;
+        }
+        if (optimized.hasPredicateFunctions()) {
+            throw new IllegalStateException("自定义的条件构造Function不能在内存中计算");
+        }
+        boolean and = ConnectionType.AND.equals(optimized.getConnectionType());
+        Boolean result = and ? Boolean.TRUE : Boolean.FALSE;
+        for (Condition condition : optimized.getConditions()) {
+            result = and ? and(result, evaluate(condition, row)) : or(result, evaluate(condition, row));
+            if (and ? Boolean.FALSE.equals(result) : Boolean.TRUE.equals(result)) {
+                return result;
+            }
+        }
+        for (LambdaSpecification<?> orSpecification : optimized.getOrSpecifications()) {
+            result = and ? and(result, evaluate(orSpecification, row)) : or(result, evaluate(orSpecification, row));
+            if (and ? Boolean.FALSE.equals(result) : Boolean.TRUE.equals(result)) {
+                return result;
+            }
+        }
+        // 空的or条件集与翻译时一致，按恒真处理
+        if (!and && optimized.getConditions().isEmpty() && optimized.getOrSpecifications().isEmpty()) {
+            return Boolean.TRUE;
+        }
+        return result;
+    }
+
+    private static Boolean and(Boolean left, Boolean right) {
+        if (Boolean.FALSE.equals(left) || Boolean.FALSE.equals(right)) {
+            return Boolean.FALSE;
+        }
+        return left == null || right == null ? null : Boolean.TRUE;
+    }
+
+    private static Boolean or(Boolean left, Boolean right) {
+        if (Boolean.TRUE.equals(left) || Boolean.TRUE.equals(right)) {
+            return Boolean.TRUE;
+        }
+        return left == null || right == null ? null : Boolean.FALSE;
+    }
+
+    private static Boolean not(Boolean value) {
+        return value == null ? null : !value;
+    }
+
+    /**
+     * <p>计算单个条件</p>
+     * 属性路径经过集合时对每个值分别计算，任意一个为TRUE即为TRUE
+     */
+    private static Boolean evaluate(Condition condition, Object row) {
+        if (condition.hasPlaceholder()) {
+            throw new RuntimeException(String.format("条件计算失败，条件中存在未绑定的占位符：%s", condition));
+        }
+        switch (condition.getOperator()) {
+            case EXISTS:
+            case NOT_EXISTS:
+                boolean exists = false;
+                for (Object element : values(row, condition.getAttributePath(), false)) {
+                    if (Boolean.TRUE.equals(evaluate((LambdaSpecification<?>) condition.getOperand(), element))) {
+                        exists = true;
+                        break;
+                    }
+                }
+                return exists == (condition.getOperator() == Operator.EXISTS);
+            case EQ_COLUMN:
+            case NOT_EQ_COLUMN:
+                Boolean columnResult = Boolean.FALSE;
+                for (Object value : values(row, condition.getAttributePath(), true)) {
+                    for (Object other : values(row, (String) condition.getOperand(), true)) {
+                        Boolean equal = equal(value, other);
+                        columnResult = or(columnResult, condition.getOperator() == Operator.EQ_COLUMN ? equal : not(equal));
+                    }
+                }
+                return columnResult;
+            default:
+                Boolean result = Boolean.FALSE;
+                for (Object value : values(row, condition.getAttributePath(), true)) {
+                    result = or(result, evaluateValue(condition, value));
+                    if (Boolean.TRUE.equals(result)) {
+                        return result;
+                    }
+                }
+                return result;
+        }
+    }
+
+    private static Boolean evaluateValue(Condition condition, Object value) {
+        Object operand = condition.getOperand();
+        switch (condition.getOperator()) {
+            case EQ:
+                // 与翻译结果一致，= null不会翻译成is null，结果是UNKNOWN
+                return equal(value, operand);
+            case NOT_EQ:
+                return not(equal(value, operand));
+            case IN:
+                return in(value, condition.getOperands());
+            case NOT_IN:
+                return not(in(value, condition.getOperands()));
+            case IS_NULL:
+                return value == null;
+            case IS_NOT_NULL:
+                return value != null;
+            case LIKE:
+                return like(value, (String) operand);
+            case NOT_LIKE:
+                return not(like(value, (String) operand));
+            case LT:
+                return compare(value, operand, c -> c < 0);
+            case LE:
+                return compare(value, operand, c -> c <= 0);
+            case GT:
+                return compare(value, operand, c -> c > 0);
+            case GE:
+                return compare(value, operand, c -> c >= 0);
+            case BETWEEN:
+                return and(compare(value, condition.getOperands().get(0), c -> c >= 0),
+                        compare(value, condition.getOperands().get(1), c -> c <= 0));
+            default:
+                throw new RuntimeException(String.format("条件计算失败，不支持的操作符：%s", condition.getOperator()));
+        }
+    }
+
+    private static Boolean equal(Object value, Object operand) {
+        if (value == null || operand == null) {
+            return null;
+        }
+        if (value instanceof Number && operand instanceof Number
+                || value instanceof Date && operand instanceof Date) {
+            return compareTo(value, operand) == 0;
+        }
+        return value.equals(operand);
+    }
+
+    private static Boolean in(Object value, List<Object> operands) {
+        if (value == null) {
+            return null;
+        }
+        Boolean result = Boolean.FALSE;
+        for (Object operand : operands) {
+            result = or(result, equal(value, operand));
+            if (Boolean.TRUE.equals(result)) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    private static Boolean compare(Object value, Object operand, IntPredicate predicate) {
+        if (value == null || operand == null) {
+            return null;
+        }
+        return predicate.test(compareTo(value, operand));
+    }
+
+    private static int compareTo(Object value, Object operand) {
+        if (value instanceof Number && operand instanceof Number) {
+            return toBigDecimal((Number) value).compareTo(toBigDecimal((Number) operand));
+        }
+        if (value instanceof Date && operand instanceof Date) {
+            // Timestamp与Date混用时compareTo不对称，统一比较时间戳
+            int compare = Long.compare(((Date) value).getTime(), ((Date) operand).getTime());
+            if (compare != 0) {
+                return compare;
+            }
+            return Integer.compare(nanos((Date) value), nanos((Date) operand));
+        }
+        if (value instanceof Comparable) {
+            return ((Comparable) value).compareTo(operand);
+        }
+        throw new RuntimeException(String.format("条件计算失败，值不能比较大小：%s", value.getClass().getName()));
+    }
+
+    private static int nanos(Date date) {
+        return date instanceof Timestamp ? ((Timestamp) date).getNanos() % 1000000 : 0;
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        if (number instanceof Double || number instanceof Float) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    /**
+     * <p>like匹配</p>
+     * %匹配任意个字符，_匹配一个字符，\后面的字符按原样匹配
+     */
+    private static Boolean like(Object value, String pattern) {
+        if (value == null || pattern == null) {
+            return null;
+        }
+        return like(value.toString(), 0, pattern, 0);
+    }
+
+    private static boolean like(String value, int valueIndex, String pattern, int patternIndex) {
+        while (patternIndex < pattern.length()) {
+            char c = pattern.charAt(patternIndex);
+            if (c == '%') {
+                // 连续的%等价于一个
+                while (patternIndex < pattern.length() && pattern.charAt(patternIndex) == '%') {
+                    patternIndex++;
+                }
+                if (patternIndex == pattern.length()) {
+                    return true;
+                }
+                for (int i = valueIndex; i < value.length(); i++) {
+                    if (like(value, i, pattern, patternIndex)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (valueIndex == value.length()) {
+                return false;
+            }
+            if (c == '\\' && patternIndex + 1 < pattern.length()) {
+                c = pattern.charAt(++patternIndex);
+                if (c != value.charAt(valueIndex)) {
+                    return false;
+                }
+            } else if (c != '_' && c != value.charAt(valueIndex)) {
+                return false;
+            }
+            patternIndex++;
+            valueIndex++;
+        }
+        return valueIndex == value.length();
+    }
+
+    /**
+     * <p>按属性路径取值</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param row 数据
+     * @param attributePath 属性路径
+     * @param nullIfEmpty 经过集合属性且没有任何值时，是否返回一个null（相当于left join）
+     * @return java.util.List<java.lang.Object>
+     */
+    private static List<Object> values(Object row, String attributePath, boolean nullIfEmpty) {
+        List<Object> values = Collections.singletonList(row);
+        int start = 0;
+        int end;
+        do {
+            end = attributePath.indexOf('.', start);
+            String attributeName = end < 0 ? attributePath.substring(start) : attributePath.substring(start, end);
+            List<Object> next = new ArrayList<>(values.size());
+            for (Object value : values) {
+                Object attributeValue = value == null ? null : accessor(value.getClass(), attributeName).apply(value);
+                if (attributeValue instanceof Collection) {
+                    next.addAll((Collection<?>) attributeValue);
+                } else {
+                    next.add(attributeValue);
+                }
+            }
+            values = next;
+            start = end + 1;
+        } while (end >= 0);
+        if (values.isEmpty() && nullIfEmpty) {
+            return Collections.singletonList(null);
+        }
+        return values;
+    }
+
+    private static Function<Object, Object> accessor(Class<?> type, String attributeName) {
+        Map<String, Function<Object, Object>> accessors = ACCESSORS.get(type);
+        Function<Object, Object> accessor = accessors.get(attributeName);
+        if (accessor == null) {
+            accessor = resolveAccessor(type, attributeName);
+            accessors.put(attributeName, accessor);
+        }
+        return accessor;
+    }
+
+    /**
+     * <p>解析属性取值方法</p>
+     * 优先使用getter（Hibernate的代理对象需要通过getter触发加载），没有getter时直接读字段
+     */
+    private static Function<Object, Object> resolveAccessor(Class<?> type, String attributeName) {
+        String suffix = Character.toUpperCase(attributeName.charAt(0)) + attributeName.substring(1);
+        for (String methodName : new String[]{"get" + suffix, "is" + suffix}) {
+            try {
+                Method method = type.getMethod(methodName);
+                method.setAccessible(true);
+                return target -> {
+                    try {
+                        return method.invoke(target);
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        throw new RuntimeException(String.format("条件计算失败，属性取值失败：%s", attributeName), e);
+                    }
+                };
+            } catch (NoSuchMethodException e) {
+                // 继续查找
+            }
+        }
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(attributeName);
+                field.setAccessible(true);
+                return target -> {
+                    try {
+                        return field.get(target);
+                    } catch (IllegalAccessException e) {
+                        throw new RuntimeException(String.format("条件计算失败，属性取值失败：%s", attributeName), e);
+                    }
+                };
+            } catch (NoSuchFieldException e) {
+                // 继续查找父类
+            }
+        }
+        throw new RuntimeException(String.format("条件计算失败，%s中没有属性：%s", type.getName(), attributeName));
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.vincenttho.jpa.domain;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * <p>条件指纹</p>
+ * 对优化后的条件树计算64位哈希，不生成中间字符串：
+ * 结构指纹只包含实体、操作符、属性路径和条件树的结构，不包含条件值，用于按查询结构分组统计；
+ * 完整指纹在结构指纹的基础上包含条件值，可以作为缓存的key。
+ * 同一个条件集里的条件和子条件集用可交换的方式组合，顺序不同的and/or条件集指纹相同；
+ * in值列表、keyset排序键按顺序计算；自定义的条件构造Function按实现类计算结构指纹、按对象计算完整指纹
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+final class SpecificationFingerprint {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private SpecificationFingerprint() {
+    }
+
+    /**
+     * <p>计算指纹</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 优化后的LambdaSpecification
+     * @param values 是否包含条件值
+     * @return long
+     */
+    static long fingerprint(LambdaSpecification<?> specification, boolean values) {
+        long hash = combine(SEED, specification.getPoClass() == null ? 0 : specification.getPoClass().getName().hashCode());
+        if (specification.isAlwaysFalse()) {
+            return combine(hash, 1);
+        }
+        hash = combine(hash, group(specification, values));
+        Keyset<?> keyset = specification.getKeyset();
+        if (keyset != null) {
+            for (Keyset.Key<?> key : keyset.getKeys()) {
+                hash = combine(hash, combine(key.getAttributePath().hashCode(), key.isAscending() ? 1 : 2));
+            }
+        }
+        long fetches = 0;
+        for (String fetch : specification.getFetches()) {
+            fetches += mix(fetch.hashCode());
+        }
+        return combine(hash, fetches);
+    }
+
+    /**
+     * 条件集：成员指纹相加，与顺序无关
+     */
+    private static long group(LambdaSpecification<?> specification, boolean values) {
+        long members = 0;
+        for (Condition condition : specification.getConditions()) {
+            members += mix(condition(condition, values));
+        }
+        for (BiFunction<Root, CriteriaBuilder, Predicate> function : specification.getPredicateFunctions()) {
+            members += mix(values ? System.identityHashCode(function) : function.getClass().getName().hashCode());
+        }
+        for (LambdaSpecification<?> orSpecification : specification.getOrSpecifications()) {
+            members += mix(group(orSpecification, values));
+        }
+        return combine(specification.getConnectionType().ordinal() + 1, members);
+    }
+
+    private static long condition(Condition condition, boolean values) {
+        long hash = combine(condition.getOperator().ordinal() + 1, condition.getAttributePath().hashCode());
+        hash = combine(hash, (condition.isIgnoreEmpty() ? 1 : 2) + 3 * Objects.hashCode(condition.getInListPadding()));
+        switch (condition.getOperator()) {
+            case EQ_COLUMN:
+            case NOT_EQ_COLUMN:
+                // 另一个字段是结构的一部分
+                return combine(hash, condition.getOperand().hashCode());
+            case EXISTS:
+            case NOT_EXISTS:
+                LambdaSpecification<?> subSpecification = (LambdaSpecification<?>) condition.getOperand();
+                return combine(hash, values ? subSpecification.fingerprint() : subSpecification.shapeFingerprint());
+            default:
+                if (!values) {
+                    return hash;
+                }
+                for (Object operand : condition.getOperands()) {
+                    hash = combine(hash, Objects.hashCode(operand));
+                }
+                return hash;
+        }
+    }
+
+    /**
+     * <p>判断两个优化后的LambdaSpecification是否等价</p>
+     * 与完整指纹的计算方式一致：条件集按多重集合比较，条件值按equals比较
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param a
+     * @param b
+     * @return boolean
+     */
+    static boolean equivalent(LambdaSpecification<?> a, LambdaSpecification<?> b) {
+        if (!Objects.equals(a.getPoClass(), b.getPoClass()) || a.isAlwaysFalse() != b.isAlwaysFalse()) {
+            return false;
+        }
+        if (!keys(a.getKeyset()).equals(keys(b.getKeyset()))
+                || !sameElements(a.getFetches(), b.getFetches(), Objects::equals)) {
+            return false;
+        }
+        return equivalentGroup(a, b);
+    }
+
+    private static boolean equivalentGroup(LambdaSpecification<?> a, LambdaSpecification<?> b) {
+        return a.getConnectionType() == b.getConnectionType()
+                && sameElements(a.getConditions(), b.getConditions(), Condition::equals)
+                && sameElements(a.getPredicateFunctions(), b.getPredicateFunctions(), (x, y) -> x == y)
+                && sameElements((List<LambdaSpecification<?>>) (List) a.getOrSpecifications(),
+                (List<LambdaSpecification<?>>) (List) b.getOrSpecifications(), SpecificationFingerprint::equivalentGroup);
+    }
+
+    private static List<String> keys(Keyset<?> keyset) {
+        List<String> keys = new ArrayList<>();
+        if (keyset != null) {
+            for (Keyset.Key<?> key : keyset.getKeys()) {
+                keys.add((key.isAscending() ? "+" : "-") + key.getAttributePath());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 多重集合比较，成员数量很少，直接逐个配对
+     */
+    private static <E> boolean sameElements(List<E> a, List<E> b, BiPredicate<E, E> equivalent) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        boolean[] matched = new boolean[b.size()];
+        for (E x : a) {
+            boolean found = false;
+            for (int i = 0; i < b.size(); i++) {
+                if (!matched[i] && equivalent.test(x, b.get(i))) {
+                    matched[i] = true;
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long combine(long hash, long value) {
+        return mix(hash * SEED + value);
+    }
+
+    /**
+     * MurmurHash3的fmix64
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+}
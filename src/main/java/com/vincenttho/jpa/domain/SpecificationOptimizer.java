@@ -0,0 +1,451 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.enums.ConnectionType;
+import com.vincenttho.jpa.enums.Operator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>条件优化</p>
+ * 翻译前对条件树做一次化简：
+ * 去掉重复条件；同一属性上的eq/in取交集，ge/gt/le/lt合并成between；
+ * 去掉空的条件集（ignoreEmpty丢弃了全部条件的or条件集不再生成恒假的or()）；
+ * 识别恒假的条件（如 a = 1 and a = 2），恒假的LambdaSpecification不需要查询数据库。
+ * 按值合并只用于Java的比较结果与SQL一致的类型（整数、BigDecimal、不带时区的java.time日期时间、Instant、布尔），
+ * 字符串、浮点数、枚举、java.util.Date等交给数据库计算；条件值中有null的条件不合并，原样保留
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+final class SpecificationOptimizer {
+
+    /** 恒真的条件 */
+    private static final Condition TRUE = new Condition(Operator.IS_NULL, "");
+
+    /** 恒假的条件 */
+    private static final Condition FALSE = new Condition(Operator.IS_NOT_NULL, "");
+
+    private SpecificationOptimizer() {
+    }
+
+    /**
+     * <p>优化条件树</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<T> 冻结的优化结果，恒假时{@link LambdaSpecification#isAlwaysFalse()}为true
+     */
+    static <T> LambdaSpecification<T> optimize(LambdaSpecification<T> specification) {
+        Group group = ConnectionType.AND.equals(specification.getConnectionType())
+                ? optimizeAnd(specification) : optimizeOr(specification);
+        if (group == null) {
+            return specification.copyOptimized(Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), true);
+        }
+        if (group.alwaysTrue) {
+            // 恒真的or条件集不再需要自定义的条件构造Function
+            return specification.copyOptimized(Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), false);
+        }
+        return specification.copyOptimized(group.conditions, specification.getPredicateFunctions(), group.orSpecifications, false);
+    }
+
+    /**
+     * and条件集：任意一项恒假则整体恒假，恒真的项直接去掉
+     */
+    private static Group optimizeAnd(LambdaSpecification<?> specification) {
+        Group group = new Group();
+        List<Condition> conditions = new ArrayList<>(specification.getConditions().size());
+        Map<String, List<Condition>> conditionsByPath = new LinkedHashMap<>();
+        for (Condition condition : new LinkedHashSet<>(specification.getConditions())) {
+            Condition optimized = optimizeCondition(condition);
+            if (optimized == FALSE) {
+                return null;
+            }
+            if (optimized == TRUE) {
+                continue;
+            }
+            conditions.add(optimized);
+            if (isMergeable(optimized)) {
+                conditionsByPath.computeIfAbsent(optimized.getAttributePath(), k -> new ArrayList<>()).add(optimized);
+            }
+        }
+        // 合并后的条件放在该属性第一个条件的位置
+        for (Condition condition : conditions) {
+            if (!isMergeable(condition)) {
+                group.conditions.add(condition);
+                continue;
+            }
+            List<Condition> pathConditions = conditionsByPath.remove(condition.getAttributePath());
+            if (pathConditions == null) {
+                continue;
+            }
+            List<Condition> merged = pathConditions.size() == 1 ? pathConditions : merge(pathConditions);
+            if (merged == null) {
+                return null;
+            }
+            group.conditions.addAll(merged);
+        }
+
+        for (LambdaSpecification<?> orSpecification : specification.getOrSpecifications()) {
+            LambdaSpecification<?> optimized = orSpecification.optimize();
+            if (optimized.isAlwaysFalse()) {
+                return null;
+            }
+            if (!optimized.isEmpty()) {
+                group.orSpecifications.add(optimized);
+            }
+        }
+        return group;
+    }
+
+    /**
+     * or条件集：任意一项恒真则整体恒真（包括自定义的条件构造Function），恒假的项直接去掉，全部恒假则整体恒假
+     */
+    private static Group optimizeOr(LambdaSpecification<?> specification) {
+        Group group = new Group();
+        boolean hasMember = specification.hasPredicateFunctions();
+        for (Condition condition : new LinkedHashSet<>(specification.getConditions())) {
+            Condition optimized = optimizeCondition(condition);
+            if (optimized == TRUE) {
+                return Group.alwaysTrue();
+            }
+            hasMember = true;
+            if (optimized != FALSE) {
+                group.conditions.add(optimized);
+            }
+        }
+        for (LambdaSpecification<?> orSpecification : specification.getOrSpecifications()) {
+            LambdaSpecification<?> optimized = orSpecification.optimize();
+            if (optimized.isEmpty()) {
+                return Group.alwaysTrue();
+            }
+            hasMember = true;
+            if (!optimized.isAlwaysFalse()) {
+                group.orSpecifications.add(optimized);
+            }
+        }
+        if (hasMember && group.conditions.isEmpty() && group.orSpecifications.isEmpty() && !specification.hasPredicateFunctions()) {
+            return null;
+        }
+        return group;
+    }
+
+    /**
+     * <p>单个条件的化简</p>
+     * exists子条件先优化，子条件恒假时exists恒假、not exists恒真；空的in恒假、空的not in恒真
+     */
+    private static Condition optimizeCondition(Condition condition) {
+        switch (condition.getOperator()) {
+            case EXISTS:
+            case NOT_EXISTS:
+                if (condition.hasPlaceholder()) {
+                    return condition;
+                }
+                LambdaSpecification<?> subSpecification = ((LambdaSpecification<?>) condition.getOperand()).optimize();
+                if (subSpecification.isAlwaysFalse()) {
+                    return condition.getOperator() == Operator.EXISTS ? FALSE : TRUE;
+                }
+                return condition.withOperands(Collections.singletonList(subSpecification));
+            case IN:
+                return condition.getOperands().isEmpty() ? FALSE : condition;
+            case NOT_IN:
+                return condition.getOperands().isEmpty() ? TRUE : condition;
+            default:
+                return condition;
+        }
+    }
+
+    /**
+     * 可以按属性合并的条件，字段之间比较、exists和条件值中有null的条件不参与
+     */
+    private static boolean isMergeable(Condition condition) {
+        switch (condition.getOperator()) {
+            case EQ_COLUMN:
+            case NOT_EQ_COLUMN:
+            case EXISTS:
+            case NOT_EXISTS:
+                return false;
+            default:
+                // 与null比较的条件按原样翻译，合并会改变结果
+                return !condition.hasPlaceholder() && !condition.getOperands().contains(null);
+        }
+    }
+
+    /**
+     * <p>合并同一属性上用and连接的条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param conditions 同一属性上的条件（至少两个）
+     * @return java.util.List<com.vincenttho.jpa.domain.Condition> 合并后的条件，恒假时返回null
+     */
+    private static List<Condition> merge(List<Condition> conditions) {
+        boolean isNull = false;
+        boolean nullRejecting = false;
+        for (Condition condition : conditions) {
+            if (condition.getOperator() == Operator.IS_NULL) {
+                isNull = true;
+            } else if (condition.isNullRejecting()) {
+                nullRejecting = true;
+            }
+        }
+        // a is null and a = 1
+        if (isNull && nullRejecting) {
+            return null;
+        }
+        if (!sameValueType(conditions)) {
+            return conditions;
+        }
+        // 字符串受排序规则影响（不区分大小写、忽略尾部空格），浮点数有精度问题，Java的比较结果可能与数据库不一致，
+        // 这类条件交给数据库计算
+        Class<?> valueType = valueType(conditions);
+        if (valueType != null && !isComparableInDatabase(valueType)) {
+            return conditions;
+        }
+
+        String attributePath = conditions.get(0).getAttributePath();
+        Set<Object> allowed = null;
+        Set<Object> excluded = new LinkedHashSet<>();
+        Boolean inListPadding = null;
+        Comparable lower = null;
+        boolean lowerInclusive = false;
+        Comparable upper = null;
+        boolean upperInclusive = false;
+        List<Condition> others = new ArrayList<>();
+        for (Condition condition : conditions) {
+            Object value = condition.getOperand();
+            switch (condition.getOperator()) {
+                case EQ:
+                    allowed = intersect(allowed, Collections.singleton(normalize(value)));
+                    break;
+                case IN:
+                    Set<Object> values = new LinkedHashSet<>();
+                    for (Object operand : condition.getOperands()) {
+                        values.add(normalize(operand));
+                    }
+                    allowed = intersect(allowed, values);
+                    if (inListPadding == null) {
+                        inListPadding = condition.getInListPadding();
+                    }
+                    break;
+                case NOT_EQ:
+                case NOT_IN:
+                    for (Object operand : condition.getOperands()) {
+                        excluded.add(normalize(operand));
+                    }
+                    others.add(condition);
+                    break;
+                case GT:
+                case GE:
+                    if (lower == null || ((Comparable) value).compareTo(lower) > 0
+                            || ((Comparable) value).compareTo(lower) == 0 && condition.getOperator() == Operator.GT) {
+                        lower = (Comparable) value;
+                        lowerInclusive = condition.getOperator() == Operator.GE;
+                    }
+                    break;
+                case LT:
+                case LE:
+                    if (upper == null || ((Comparable) value).compareTo(upper) < 0
+                            || ((Comparable) value).compareTo(upper) == 0 && condition.getOperator() == Operator.LT) {
+                        upper = (Comparable) value;
+                        upperInclusive = condition.getOperator() == Operator.LE;
+                    }
+                    break;
+                case BETWEEN:
+                    // between的边界是闭区间，只有更严格时才替换，相等时保留已有的开区间
+                    Comparable from = (Comparable) condition.getOperands().get(0);
+                    Comparable to = (Comparable) condition.getOperands().get(1);
+                    if (lower == null || from.compareTo(lower) > 0) {
+                        lower = from;
+                        lowerInclusive = true;
+                    }
+                    if (upper == null || to.compareTo(upper) < 0) {
+                        upper = to;
+                        upperInclusive = true;
+                    }
+                    break;
+                case IS_NOT_NULL:
+                    // 其他不接受null的条件已经隐含了is not null
+                    if (!nullRejecting(conditions, condition)) {
+                        others.add(condition);
+                    }
+                    break;
+                default:
+                    others.add(condition);
+            }
+        }
+
+        List<Condition> merged = new ArrayList<>(others.size() + 2);
+        if (allowed != null) {
+            // 取值集合确定后，范围和不等条件都在集合上过滤掉
+            List<Object> values = new ArrayList<>(allowed.size());
+            for (Object value : allowed) {
+                if (!excluded.contains(value) && inRange((Comparable) value, lower, lowerInclusive, upper, upperInclusive)) {
+                    values.add(value);
+                }
+            }
+            if (values.isEmpty()) {
+                return null;
+            }
+            merged.add(values.size() == 1 ? new Condition(Operator.EQ, attributePath, values.get(0))
+                    : new Condition(Operator.IN, attributePath, values).inListPadding(inListPadding));
+            for (Condition other : others) {
+                if (other.getOperator() != Operator.NOT_EQ && other.getOperator() != Operator.NOT_IN) {
+                    merged.add(other);
+                }
+            }
+            return merged;
+        }
+
+        if (lower != null && upper != null) {
+            int compare = lower.compareTo(upper);
+            if (compare > 0 || compare == 0 && !(lowerInclusive && upperInclusive)) {
+                return null;
+            }
+            if (compare == 0) {
+                merged.add(new Condition(Operator.EQ, attributePath, lower));
+            } else if (lowerInclusive && upperInclusive) {
+                merged.add(new Condition(Operator.BETWEEN, attributePath, lower, upper));
+            } else {
+                merged.add(new Condition(lowerInclusive ? Operator.GE : Operator.GT, attributePath, lower));
+                merged.add(new Condition(upperInclusive ? Operator.LE : Operator.LT, attributePath, upper));
+            }
+        } else if (lower != null) {
+            merged.add(new Condition(lowerInclusive ? Operator.GE : Operator.GT, attributePath, lower));
+        } else if (upper != null) {
+            merged.add(new Condition(upperInclusive ? Operator.LE : Operator.LT, attributePath, upper));
+        }
+        merged.addAll(others);
+        return merged;
+    }
+
+    private static boolean nullRejecting(List<Condition> conditions, Condition isNotNull) {
+        for (Condition condition : conditions) {
+            if (condition != isNotNull && condition.isNullRejecting()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 所有条件值的类型一致时才能比较（如Integer和Long混用时不合并）
+     */
+    private static boolean sameValueType(List<Condition> conditions) {
+        Class<?> type = null;
+        for (Condition condition : conditions) {
+            switch (condition.getOperator()) {
+                case LIKE:
+                case NOT_LIKE:
+                case IS_NULL:
+                case IS_NOT_NULL:
+                    continue;
+                default:
+            }
+            for (Object value : condition.getOperands()) {
+                if (value == null) {
+                    continue;
+                }
+                if (!(value instanceof Comparable)) {
+                    return false;
+                }
+                if (type == null) {
+                    type = value.getClass();
+                } else if (type != value.getClass()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 条件值的类型，没有可比较的值时返回null
+     */
+    private static Class<?> valueType(List<Condition> conditions) {
+        for (Condition condition : conditions) {
+            switch (condition.getOperator()) {
+                case LIKE:
+                case NOT_LIKE:
+                case IS_NULL:
+                case IS_NOT_NULL:
+                    continue;
+                default:
+            }
+            for (Object value : condition.getOperands()) {
+                if (value != null) {
+                    return value.getClass();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Java的相等和大小比较与SQL一致的类型：整数、BigDecimal（按compareTo比较）、不带时区的java.time日期时间、Instant和布尔。
+     * 枚举按ordinal比较，@Enumerated(STRING)的列按字符串比较；java.util.Date映射到DATE列时绑定参数会去掉时间部分；
+     * 带时区偏移的时间equals和compareTo会比较偏移量，这些都不合并
+     */
+    private static boolean isComparableInDatabase(Class<?> type) {
+        return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+                || type == BigInteger.class || type == BigDecimal.class || type == Boolean.class
+                || type == LocalDate.class || type == LocalDateTime.class || type == LocalTime.class || type == Instant.class;
+    }
+
+    /**
+     * BigDecimal去掉末尾的0，1.0和1.00按同一个值比较
+     */
+    private static Object normalize(Object value) {
+        return value instanceof BigDecimal ? ((BigDecimal) value).stripTrailingZeros() : value;
+    }
+
+    private static Set<Object> intersect(Set<Object> allowed, Set<Object> values) {
+        if (allowed == null) {
+            return new LinkedHashSet<>(values);
+        }
+        allowed.retainAll(values);
+        return allowed;
+    }
+
+    private static boolean inRange(Comparable value, Comparable lower, boolean lowerInclusive, Comparable upper, boolean upperInclusive) {
+        if (lower != null) {
+            int compare = value.compareTo(lower);
+            if (compare < 0 || compare == 0 && !lowerInclusive) {
+                return false;
+            }
+        }
+        if (upper != null) {
+            int compare = value.compareTo(upper);
+            if (compare > 0 || compare == 0 && !upperInclusive) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 优化后的条件集
+     */
+    private static final class Group {
+        private final List<Condition> conditions = new ArrayList<>();
+        private final List<LambdaSpecification> orSpecifications = new ArrayList<>();
+        private boolean alwaysTrue;
+
+        private static Group alwaysTrue() {
+            Group group = new Group();
+            group.alwaysTrue = true;
+            return group;
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.enums.Operator;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>Specification模板</p>
+ * 查询结构固定、只有条件值变化的场景，模板只需构造一次，之后每次查询通过bind绑定条件值，
+ * 模板本身不可修改，可以在多线程间共享。
+ * 通过{@link com.vincenttho.jpa.executor.LambdaQueryExecutor}执行时条件值以参数方式绑定，
+ * 每次生成的JPQL一致，Hibernate的查询计划缓存可以命中
+ * 如：SpecificationTemplate<Po> template = LambdaSpecification.query(Po.class)
+ *           .eq(Po::getOrderNo, Placeholder.of(0))
+ *           .like(true, Po::getName, Placeholder.of(1))
+ *           .template();
+ *     executor.findAll(template.bind(orderNo, name));
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class SpecificationTemplate<T> {
+
+    private final LambdaSpecification<T> specification;
+
+    SpecificationTemplate(LambdaSpecification<T> specification) {
+        this.specification = specification;
+    }
+
+    public LambdaSpecification<T> getSpecification() {
+        return specification;
+    }
+
+    /**
+     * <p>按位置绑定条件值</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param values 条件值，下标与{@link Placeholder#of(int)}的位置对应
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<T>
+     */
+    public LambdaSpecification<T> bind(Object ... values) {
+        return bind(specification, placeholder -> {
+            if (placeholder.isNamed()) {
+                throw new RuntimeException(String.format("按位置绑定时不能使用命名占位符：%s", placeholder));
+            }
+            if (placeholder.getIndex() >= values.length) {
+                throw new RuntimeException(String.format("占位符%s没有绑定值，当前绑定值数量为：%s", placeholder, values.length));
+            }
+            return values[placeholder.getIndex()];
+        });
+    }
+
+    /**
+     * <p>按名称绑定条件值</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param values 条件值，key与{@link Placeholder#of(String)}的名称对应
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<T>
+     */
+    public LambdaSpecification<T> bind(Map<String, ?> values) {
+        return bind(specification, placeholder -> {
+            if (!placeholder.isNamed()) {
+                throw new RuntimeException(String.format("按名称绑定时不能使用位置占位符：%s", placeholder));
+            }
+            if (!values.containsKey(placeholder.getName())) {
+                throw new RuntimeException(String.format("占位符%s没有绑定值", placeholder));
+            }
+            return values.get(placeholder.getName());
+        });
+    }
+
+    private static <T> LambdaSpecification<T> bind(LambdaSpecification<T> specification, Function<Placeholder, Object> resolver) {
+        List<Condition> conditions = new ArrayList<>(specification.getConditions().size());
+        for (Condition condition : specification.getConditions()) {
+            Condition bound = condition.hasPlaceholder() ? bind(condition, resolver) : condition;
+            if (bound != null) {
+                conditions.add(bound);
+            }
+        }
+
+        List<LambdaSpecification> orSpecifications = new ArrayList<>(specification.getOrSpecifications().size());
+        for (LambdaSpecification orSpecification : specification.getOrSpecifications()) {
+            orSpecifications.add(bind(orSpecification, resolver));
+        }
+
+        return specification.copyFrozen(conditions, orSpecifications);
+    }
+
+    /**
+     * <p>绑定单个条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param condition 条件
+     * @param resolver 占位符取值
+     * @return com.vincenttho.jpa.domain.Condition 忽略空值且绑定值为空时返回null
+     */
+    private static Condition bind(Condition condition, Function<Placeholder, Object> resolver) {
+        boolean multiValue = condition.getOperator() == Operator.IN || condition.getOperator() == Operator.NOT_IN;
+        List<Object> operands = new ArrayList<>(condition.getOperands().size());
+        for (Object operand : condition.getOperands()) {
+            if (operand instanceof LambdaSpecification) {
+                // exists子查询
+                operands.add(bind((LambdaSpecification<?>) operand, resolver));
+                continue;
+            }
+            Object value = operand instanceof Placeholder ? resolver.apply((Placeholder) operand) : operand;
+            if (condition.isIgnoreEmpty() && isEmpty(value)) {
+                return null;
+            }
+            if (multiValue) {
+                operands.addAll(toCollection(value));
+            } else {
+                operands.add(value);
+            }
+        }
+        if (multiValue && condition.isIgnoreEmpty() && operands.isEmpty()) {
+            return null;
+        }
+        return condition.withOperands(operands);
+    }
+
+    private static boolean isEmpty(Object value) {
+        return value == null
+                || value instanceof Collection && ((Collection) value).isEmpty()
+                || value instanceof CharSequence && ((CharSequence) value).length() == 0;
+    }
+
+    private static Collection<Object> toCollection(Object value) {
+        if (value instanceof Collection) {
+            return (Collection<Object>) value;
+        }
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> values = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                values.add(Array.get(value, i));
+            }
+            return values;
+        }
+        return Collections.singletonList(value);
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.vincenttho.jpa.domain;
+
+import com.vincenttho.jpa.enums.Operator;
+
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>条件校验</p>
+ * 按JPA元模型检查条件，可以在启动时校验常用的条件和模板，属性名错误、非持久化属性、
+ * 操作符与属性类型不匹配等问题不必等到查询时才暴露，校验通过的属性路径同时缓存下来，翻译时直接使用。
+ * 如：SpecificationValidator.validate(entityManager.getMetamodel(), ORDER_TEMPLATE.getSpecification());
+ * 自定义的条件构造Function无法校验
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class SpecificationValidator {
+
+    private static final Map<Class<?>, Class<?>> WRAPPER_TYPES = new HashMap<>();
+
+    static {
+        WRAPPER_TYPES.put(boolean.class, Boolean.class);
+        WRAPPER_TYPES.put(byte.class, Byte.class);
+        WRAPPER_TYPES.put(char.class, Character.class);
+        WRAPPER_TYPES.put(short.class, Short.class);
+        WRAPPER_TYPES.put(int.class, Integer.class);
+        WRAPPER_TYPES.put(long.class, Long.class);
+        WRAPPER_TYPES.put(float.class, Float.class);
+        WRAPPER_TYPES.put(double.class, Double.class);
+    }
+
+    private SpecificationValidator() {
+    }
+
+    /**
+     * <p>校验条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param metamodel 元模型，如entityManager.getMetamodel()
+     * @param specifications 条件
+     * @throws IllegalArgumentException 校验不通过，异常信息包含全部问题
+     */
+    public static void validate(Metamodel metamodel, LambdaSpecification<?> ... specifications) {
+        List<String> errors = new ArrayList<>();
+        for (LambdaSpecification<?> specification : specifications) {
+            errors.addAll(check(metamodel, specification));
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.format("条件校验失败：%n%s", String.join(System.lineSeparator(), errors)));
+        }
+    }
+
+    /**
+     * <p>校验条件模板</p>
+     * 占位符不参与类型校验
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param metamodel 元模型
+     * @param templates 条件模板
+     * @throws IllegalArgumentException 校验不通过，异常信息包含全部问题
+     */
+    public static void validate(Metamodel metamodel, SpecificationTemplate<?> ... templates) {
+        LambdaSpecification<?>[] specifications = new LambdaSpecification<?>[templates.length];
+        for (int i = 0; i < templates.length; i++) {
+            specifications[i] = templates[i].getSpecification();
+        }
+        validate(metamodel, specifications);
+    }
+
+    /**
+     * <p>检查条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param metamodel 元模型
+     * @param specification 条件
+     * @return java.util.List<java.lang.String> 发现的问题，没有问题时为空
+     */
+    public static List<String> check(Metamodel metamodel, LambdaSpecification<?> specification) {
+        List<String> errors = new ArrayList<>();
+        ManagedType<?> managedType;
+        try {
+            managedType = metamodel.managedType(specification.getPoClass());
+        } catch (IllegalArgumentException e) {
+            errors.add(String.format("%s不是JPA实体", specification.getPoClass().getName()));
+            return errors;
+        }
+        checkConditions(managedType, specification, errors);
+        for (String fetch : specification.getFetches()) {
+            Attribute<?, ?>[] attributes = resolve(managedType, fetch, "fetch(" + fetch + ")", errors);
+            if (attributes != null) {
+                for (Attribute<?, ?> attribute : attributes) {
+                    if (!attribute.isAssociation() && !attribute.isCollection()) {
+                        errors.add(String.format("fetch(%s)：属性%s不是关联", fetch, attribute.getName()));
+                    }
+                }
+            }
+        }
+        Keyset<?> keyset = specification.getKeyset();
+        if (keyset != null) {
+            for (Keyset.Key<?> key : keyset.getKeys()) {
+                String description = "keyset(" + key.getAttributePath() + ")";
+                Attribute<?, ?>[] attributes = resolve(managedType, key.getAttributePath(), description, errors);
+                if (attributes != null) {
+                    checkComparable(attributes[attributes.length - 1], description, errors);
+                }
+            }
+        }
+        return errors;
+    }
+
+    private static void checkConditions(ManagedType<?> managedType, LambdaSpecification<?> specification, List<String> errors) {
+        for (Condition condition : specification.getConditions()) {
+            checkCondition(managedType, condition, errors);
+        }
+        for (LambdaSpecification<?> orSpecification : specification.getOrSpecifications()) {
+            checkConditions(managedType, orSpecification, errors);
+        }
+    }
+
+    private static void checkCondition(ManagedType<?> managedType, Condition condition, List<String> errors) {
+        String description = condition.toString();
+        Attribute<?, ?>[] attributes = resolve(managedType, condition.getAttributePath(), description, errors);
+        if (attributes == null) {
+            return;
+        }
+        Attribute<?, ?> attribute = attributes[attributes.length - 1];
+        Operator operator = condition.getOperator();
+        if (operator == Operator.EXISTS || operator == Operator.NOT_EXISTS) {
+            ManagedType<?> elementType = AttributeResolver.managedType(attribute);
+            if (!attribute.isCollection() || elementType == null) {
+                errors.add(String.format("%s：属性%s不是实体集合，不能用于exists", description, attribute.getName()));
+                return;
+            }
+            checkConditions(elementType, (LambdaSpecification<?>) condition.getOperand(), errors);
+            return;
+        }
+        if (!(attribute instanceof SingularAttribute)) {
+            errors.add(String.format("%s：属性%s是集合，只能用于exists/not exists", description, attribute.getName()));
+            return;
+        }
+        switch (operator) {
+            case EQ_COLUMN:
+            case NOT_EQ_COLUMN:
+                resolve(managedType, (String) condition.getOperand(), description, errors);
+                return;
+            case IS_NULL:
+            case IS_NOT_NULL:
+                return;
+            case LIKE:
+            case NOT_LIKE:
+                if (attribute.getJavaType() != String.class) {
+                    errors.add(String.format("%s：属性%s的类型为%s，不能用于like", description, attribute.getName(),
+                            attribute.getJavaType().getName()));
+                    return;
+                }
+                break;
+            case LT:
+            case LE:
+            case GT:
+            case GE:
+            case BETWEEN:
+                if (!checkComparable(attribute, description, errors)) {
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        Class<?> valueType = wrap(attribute.getJavaType());
+        for (Object operand : condition.getOperands()) {
+            if (operand == null || operand instanceof Placeholder || valueType.isInstance(operand)
+                    || (operand instanceof Number && Number.class.isAssignableFrom(valueType))) {
+                continue;
+            }
+            errors.add(String.format("%s：属性%s的类型为%s，条件值%s的类型为%s", description, attribute.getName(),
+                    valueType.getName(), operand, operand.getClass().getName()));
+        }
+    }
+
+    private static boolean checkComparable(Attribute<?, ?> attribute, String description, List<String> errors) {
+        if (!Comparable.class.isAssignableFrom(wrap(attribute.getJavaType()))) {
+            errors.add(String.format("%s：属性%s的类型为%s，不能比较大小", description, attribute.getName(),
+                    attribute.getJavaType().getName()));
+            return false;
+        }
+        return true;
+    }
+
+    private static Attribute<?, ?>[] resolve(ManagedType<?> managedType, String attributePath, String description, List<String> errors) {
+        try {
+            return AttributeResolver.resolve(managedType, attributePath);
+        } catch (IllegalArgumentException e) {
+            errors.add(String.format("%s：%s", description, e.getMessage()));
+            return null;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        Class<?> wrapperType = WRAPPER_TYPES.get(type);
+        return wrapperType != null ? wrapperType : type;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.vincenttho.jpa.enums;
+
+/**
+ * <p>条件操作符</p>
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public enum Operator {
+    /** = */
+    EQ,
+    /** != */
+    NOT_EQ,
+    /** =（字段之间比较） */
+    EQ_COLUMN,
+    /** !=（字段之间比较） */
+    NOT_EQ_COLUMN,
+    /** in */
+    IN,
+    /** not in */
+    NOT_IN,
+    /** is null */
+    IS_NULL,
+    /** is not null */
+    IS_NOT_NULL,
+    /** like */
+    LIKE,
+    /** not like */
+    NOT_LIKE,
+    /** < */
+    LT,
+    /** <= */
+    LE,
+    /** > */
+    GT,
+    /** >= */
+    GE,
+    /** between */
+    BETWEEN,
+    /** exists（集合属性的关联子查询） */
+    EXISTS,
+    /** not exists（集合属性的关联子查询） */
+    NOT_EXISTS;
+}
@@ -0,0 +1,298 @@
+package com.vincenttho.jpa.executor;
+
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.domain.Projection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <p>异步查询执行器</p>
+ * 每个查询在线程池中使用单独的EntityManager执行，返回CompletableFuture，多个互不依赖的查询可以并行执行；
+ * 分页查询的当前页数据和总数同时查询。
+ * 查询在新的EntityManager中执行，执行完即关闭，返回的实体是游离状态，未加载的懒加载属性不能再访问，
+ * 需要关联数据时使用fetch或投影；也不参与调用方的事务。
+ * 设置了超时时间时，超时后future以TimeoutException失败并中断查询线程，同时作为JPA查询超时提示交给数据库；
+ * 调用future.cancel(true)同样会中断查询线程
+ * 如：AsyncLambdaQueryExecutor<Po> executor = new AsyncLambdaQueryExecutor<>(entityManagerFactory, Po.class,
+ *           AsyncLambdaQueryExecutor.newExecutorService(8), Duration.ofSeconds(5));
+ *     CompletableFuture<Page<Po>> page = executor.findAll(specification, PageRequest.of(0, 20));
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class AsyncLambdaQueryExecutor<T> {
+
+    /** JPA查询超时提示（毫秒） */
+    private static final String HINT_QUERY_TIMEOUT = "javax.persistence.query.timeout";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Class<T> poClass;
+
+    private final ExecutorService executorService;
+
+    /** 超时时间，为null时不超时 */
+    private final Duration timeout;
+
+    public AsyncLambdaQueryExecutor(EntityManagerFactory entityManagerFactory, Class<T> poClass, ExecutorService executorService) {
+        this(entityManagerFactory, poClass, executorService, null);
+    }
+
+    /**
+     * @param entityManagerFactory 用于为每个查询创建EntityManager
+     * @param poClass 实体类
+     * @param executorService 执行查询的线程池，由调用方负责关闭，见{@link #newExecutorService(int)}
+     * @param timeout 每个查询的超时时间，为null时不超时
+     */
+    public AsyncLambdaQueryExecutor(EntityManagerFactory entityManagerFactory, Class<T> poClass, ExecutorService executorService,
+                                    Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException(String.format("查询超时时间必须大于0，当前值为：%s", timeout));
+        }
+        this.entityManagerFactory = entityManagerFactory;
+        this.poClass = poClass;
+        this.executorService = executorService;
+        this.timeout = timeout;
+    }
+
+    public Class<T> getPoClass() {
+        return poClass;
+    }
+
+    /**
+     * <p>创建查询线程池</p>
+     * 最大并发数通常不超过数据库连接池的大小。
+     * 运行在支持虚拟线程的JDK（21及以上）时每个查询一个虚拟线程，用信号量限制并发数；
+     * 否则使用固定线程数的守护线程池，空闲线程60秒后回收
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param maxConcurrency 最大并发查询数
+     * @return java.util.concurrent.ExecutorService
+     */
+    public static ExecutorService newExecutorService(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(String.format("最大并发查询数不能小于1，当前值为：%s", maxConcurrency));
+        }
+        ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+        if (virtualThreadExecutor != null) {
+            return new BoundedExecutorService(virtualThreadExecutor, maxConcurrency);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "lambda-query-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 通过反射使用Thread.ofVirtual()和Executors.newThreadPerTaskExecutor，编译目标仍是Java 8；不支持时返回null
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "lambda-query-", 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // 不支持虚拟线程
+            return null;
+        }
+    }
+
+    /**
+     * <p>异步执行查询</p>
+     * 查询在新的EntityManager中执行，可以调用{@link LambdaQueryExecutor}的任意方法，
+     * 如：executor.submit(query -> query.findFirst(specification, sort))
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param query 查询
+     * @return java.util.concurrent.CompletableFuture<R>
+     */
+    public <R> CompletableFuture<R> submit(Function<LambdaQueryExecutor<T>, R> query) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executorService.submit(() -> {
+                // 排队期间已经取消或超时
+                if (result.isDone()) {
+                    return;
+                }
+                EntityManager entityManager = entityManagerFactory.createEntityManager();
+                try {
+                    if (timeout != null) {
+                        entityManager.setProperty(HINT_QUERY_TIMEOUT, (int) Math.min(timeout.toMillis(), Integer.MAX_VALUE));
+                    }
+                    result.complete(query.apply(new LambdaQueryExecutor<>(entityManager, poClass)));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    entityManager.close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        if (timeout != null) {
+            ScheduledFuture<?> timer = QueryScheduler.SCHEDULER.schedule(() -> result.completeExceptionally(
+                    new TimeoutException(String.format("查询超时：%s", timeout))), timeout.toNanos(), TimeUnit.NANOSECONDS);
+            result.whenComplete((value, e) -> timer.cancel(false));
+        }
+        // 取消或超时时中断查询线程
+        result.whenComplete((value, e) -> {
+            if (result.isCancelled() || e instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * <p>异步查询全部</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @return java.util.concurrent.CompletableFuture<java.util.List<T>>
+     */
+    public CompletableFuture<List<T>> findAll(LambdaSpecification<T> specification) {
+        return findAll(specification, Sort.unsorted());
+    }
+
+    /**
+     * <p>异步排序查询全部</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param sort 排序
+     * @return java.util.concurrent.CompletableFuture<java.util.List<T>>
+     */
+    public CompletableFuture<List<T>> findAll(LambdaSpecification<T> specification, Sort sort) {
+        LambdaSpecification<T> frozen = specification.freeze();
+        return submit(query -> query.findAll(frozen, sort));
+    }
+
+    /**
+     * <p>异步分页查询</p>
+     * 当前页数据和总数并行查询；当前页数据已经能确定总数时（第一页不满、最后一页不满）取消总数查询
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param pageable 分页
+     * @return java.util.concurrent.CompletableFuture<org.springframework.data.domain.Page<T>>
+     */
+    public CompletableFuture<Page<T>> findAll(LambdaSpecification<T> specification, Pageable pageable) {
+        LambdaSpecification<T> frozen = specification.freeze();
+        if (pageable.isUnpaged()) {
+            return findAll(frozen, pageable.getSort()).thenApply(content -> new PageImpl<>(content, pageable, content.size()));
+        }
+        return page(submit(query -> query.findAll(frozen, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())),
+                count(frozen), pageable);
+    }
+
+    /**
+     * <p>异步投影分页查询</p>
+     * 见{@link #findAll(LambdaSpecification, Pageable)}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param projection 投影
+     * @param pageable 分页
+     * @return java.util.concurrent.CompletableFuture<org.springframework.data.domain.Page<R>>
+     */
+    public <R> CompletableFuture<Page<R>> findAll(LambdaSpecification<T> specification, Projection<T, R> projection, Pageable pageable) {
+        LambdaSpecification<T> frozen = specification.freeze();
+        if (pageable.isUnpaged()) {
+            return submit(query -> query.findAll(frozen, projection, pageable.getSort()))
+                    .thenApply(content -> new PageImpl<>(content, pageable, content.size()));
+        }
+        return page(submit(query -> query.findAll(frozen, projection, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())),
+                count(frozen), pageable);
+    }
+
+    /**
+     * <p>异步查询数量</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @return java.util.concurrent.CompletableFuture<java.lang.Long>
+     */
+    public CompletableFuture<Long> count(LambdaSpecification<T> specification) {
+        LambdaSpecification<T> frozen = specification.freeze();
+        return submit(query -> query.count(frozen));
+    }
+
+    /**
+     * <p>异步判断是否存在</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @return java.util.concurrent.CompletableFuture<java.lang.Boolean>
+     */
+    public CompletableFuture<Boolean> exists(LambdaSpecification<T> specification) {
+        LambdaSpecification<T> frozen = specification.freeze();
+        return submit(query -> query.exists(frozen));
+    }
+
+    /**
+     * <p>合并当前页数据和总数</p>
+     * 判断是否需要总数的规则与PageableExecutionUtils一致；任一查询失败或结果被取消时，另一个查询一起取消
+     */
+    private static <R> CompletableFuture<Page<R>> page(CompletableFuture<List<R>> content, CompletableFuture<Long> count,
+                                                       Pageable pageable) {
+        CompletableFuture<Page<R>> result = new CompletableFuture<>();
+        content.whenComplete((list, e) -> {
+            if (e != null) {
+                count.cancel(true);
+                result.completeExceptionally(e);
+                return;
+            }
+            boolean lastPage = pageable.getPageSize() > list.size() && (pageable.getOffset() == 0 || !list.isEmpty());
+            if (lastPage) {
+                count.cancel(true);
+                result.complete(new PageImpl<>(list, pageable, pageable.getOffset() + list.size()));
+                return;
+            }
+            count.whenComplete((total, countError) -> {
+                if (countError != null) {
+                    result.completeExceptionally(countError);
+                } else {
+                    result.complete(new PageImpl<>(list, pageable, total));
+                }
+            });
+        });
+        result.whenComplete((page, e) -> {
+            if (result.isCancelled()) {
+                content.cancel(true);
+                count.cancel(true);
+            }
+        });
+        return result;
+    }
+
+}
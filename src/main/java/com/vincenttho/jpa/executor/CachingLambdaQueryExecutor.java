@@ -0,0 +1,281 @@
+package com.vincenttho.jpa.executor;
+
+import com.vincenttho.jpa.cache.QueryResultCache;
+import com.vincenttho.jpa.domain.Condition;
+import com.vincenttho.jpa.domain.LambdaDelete;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.domain.LambdaUpdate;
+import com.vincenttho.jpa.domain.Projection;
+import com.vincenttho.jpa.enums.Operator;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.PersistenceException;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.PluralAttribute;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * <p>带结果缓存的查询执行器</p>
+ * 适合对很少变化的表反复执行相同条件的查询。缓存key为优化后的条件（见{@link LambdaSpecification#equals(Object)}）
+ * 加上查询方式、排序、分页和投影；条件、排序、fetch、投影经过的关联实体都作为依赖，任一实体类型失效时结果失效。
+ * 缓存的是查询结果本身，多个调用方共享同一批对象：结果列表不可修改，返回的实体会比加载它的EntityManager存活更久，只能读取，
+ * 未加载的懒加载属性不能再访问；需要修改数据时不要使用缓存的实体。
+ * 只缓存findAll、findFirst、count、exists及对应的投影查询；slice、keyset分页和流式查询直接查询数据库。
+ * 自定义的条件构造Function无法分析依赖，只按查询实体失效。
+ * 事务中有还没flush的修改时直接查询数据库（由查询前的自动flush带上这些修改），不读也不放入缓存；
+ * 使用Hibernate时按Session.isDirty()判断，其他JPA实现在事务中一律不使用缓存
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class CachingLambdaQueryExecutor<T> extends LambdaQueryExecutor<T> {
+
+    private static final boolean HIBERNATE_PRESENT = isHibernatePresent();
+
+    private final QueryResultCache cache;
+
+    public CachingLambdaQueryExecutor(EntityManager entityManager, Class<T> poClass, QueryResultCache cache) {
+        super(entityManager, poClass);
+        this.cache = cache;
+    }
+
+    public QueryResultCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public List<T> findAll(LambdaSpecification<T> specification, Sort sort) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        return cached("findAll", optimized, sort, null, () -> Collections.unmodifiableList(super.findAll(optimized, sort)));
+    }
+
+    @Override
+    public Page<T> findAll(LambdaSpecification<T> specification, Pageable pageable) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        return cached("findPage", optimized, pageable, null, () -> unmodifiablePage(super.findAll(optimized, pageable)));
+    }
+
+    @Override
+    public Optional<T> findFirst(LambdaSpecification<T> specification, Sort sort) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        return cached("findFirst", optimized, sort, null, () -> super.findFirst(optimized, sort));
+    }
+
+    @Override
+    public <R> List<R> findAll(LambdaSpecification<T> specification, Projection<T, R> projection, Sort sort) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        return cached("findAll", optimized, sort, projection,
+                () -> Collections.unmodifiableList(super.findAll(optimized, projection, sort)));
+    }
+
+    @Override
+    public <R> Page<R> findAll(LambdaSpecification<T> specification, Projection<T, R> projection, Pageable pageable) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        return cached("findPage", optimized, pageable, projection,
+                () -> unmodifiablePage(super.findAll(optimized, projection, pageable)));
+    }
+
+    @Override
+    public long count(LambdaSpecification<T> specification) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        return cached("count", optimized, null, null, () -> super.count(optimized));
+    }
+
+    @Override
+    public boolean exists(LambdaSpecification<T> specification) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        return cached("exists", optimized, null, null, () -> super.exists(optimized));
+    }
+
+    /**
+     * <p>批量更新</p>
+     * 批量语句不触发实体监听器，执行后使查询实体的缓存失效，在Spring事务中推迟到事务完成后
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param update 批量更新
+     * @return int 影响行数
+     */
+    @Override
+    public int execute(LambdaUpdate<T> update) {
+        try {
+            return super.execute(update);
+        } finally {
+            QueryResultCache.invalidateAfterCommit(getPoClass());
+        }
+    }
+
+    @Override
+    public int execute(LambdaUpdate<T> update, int chunkSize, ChunkRunner chunkRunner) {
+        try {
+            return super.execute(update, chunkSize, chunkRunner);
+        } finally {
+            QueryResultCache.invalidateAfterCommit(getPoClass());
+        }
+    }
+
+    @Override
+    public int execute(LambdaDelete<T> delete) {
+        try {
+            return super.execute(delete);
+        } finally {
+            QueryResultCache.invalidateAfterCommit(getPoClass());
+        }
+    }
+
+    @Override
+    public int execute(LambdaDelete<T> delete, int chunkSize, ChunkRunner chunkRunner) {
+        try {
+            return super.execute(delete, chunkSize, chunkRunner);
+        } finally {
+            QueryResultCache.invalidateAfterCommit(getPoClass());
+        }
+    }
+
+    private <V> V cached(String operation, LambdaSpecification<T> optimized, Object argument, Projection<T, ?> projection,
+                         Supplier<V> loader) {
+        // 条件恒假时不查询数据库，也不需要缓存；有未flush的修改时命中缓存会跳过自动flush，读到旧数据
+        if (optimized.isAlwaysFalse() || hasUnflushedChanges()) {
+            return loader.get();
+        }
+        List<Object> key = Arrays.asList(operation, optimized, argument, projection);
+        Sort sort = argument instanceof Pageable ? ((Pageable) argument).getSort() : (Sort) argument;
+        return cache.get(key, () -> dependencies(optimized, sort, projection), loader);
+    }
+
+    /**
+     * <p>当前事务是否有还没flush的修改</p>
+     * 只有加入了事务且自动flush时查询才会带上这些修改
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return boolean
+     */
+    private boolean hasUnflushedChanges() {
+        EntityManager entityManager = getEntityManager();
+        if (!entityManager.isJoinedToTransaction() || entityManager.getFlushMode() != FlushModeType.AUTO) {
+            return false;
+        }
+        if (!HIBERNATE_PRESENT) {
+            return true;
+        }
+        try {
+            return entityManager.unwrap(Session.class).isDirty();
+        } catch (PersistenceException e) {
+            // 其他JPA实现
+            return true;
+        }
+    }
+
+    private static boolean isHibernatePresent() {
+        try {
+            Class.forName("org.hibernate.Session", false, CachingLambdaQueryExecutor.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static <R> Page<R> unmodifiablePage(Page<R> page) {
+        return new PageImpl<>(Collections.unmodifiableList(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * <p>结果依赖的实体类型</p>
+     * 查询实体及条件、排序、fetch、投影经过的关联实体
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 优化后的条件
+     * @param sort 排序
+     * @param projection 投影
+     * @return java.util.Set<java.lang.Class<?>>
+     */
+    protected Set<Class<?>> dependencies(LambdaSpecification<T> specification, Sort sort, Projection<T, ?> projection) {
+        Metamodel metamodel = getEntityManager().getMetamodel();
+        ManagedType<T> managedType = metamodel.managedType(getPoClass());
+        Set<Class<?>> dependencies = new LinkedHashSet<>();
+        dependencies.add(getPoClass());
+        collectDependencies(metamodel, managedType, specification, dependencies);
+        for (String fetch : specification.getFetches()) {
+            walk(metamodel, managedType, fetch, dependencies);
+        }
+        if (sort != null) {
+            for (Sort.Order order : sort) {
+                walk(metamodel, managedType, order.getProperty(), dependencies);
+            }
+        }
+        if (projection != null) {
+            for (String attributePath : projection.getAttributePaths()) {
+                walk(metamodel, managedType, attributePath, dependencies);
+            }
+        }
+        return dependencies;
+    }
+
+    private static void collectDependencies(Metamodel metamodel, ManagedType<?> managedType, LambdaSpecification<?> specification,
+                                            Set<Class<?>> dependencies) {
+        for (Condition condition : specification.getConditions()) {
+            ManagedType<?> target = walk(metamodel, managedType, condition.getAttributePath(), dependencies);
+            if (condition.getOperator() == Operator.EXISTS || condition.getOperator() == Operator.NOT_EXISTS) {
+                if (target != null) {
+                    collectDependencies(metamodel, target, (LambdaSpecification<?>) condition.getOperand(), dependencies);
+                }
+            } else if (condition.getOperator() == Operator.EQ_COLUMN || condition.getOperator() == Operator.NOT_EQ_COLUMN) {
+                walk(metamodel, managedType, (String) condition.getOperand(), dependencies);
+            }
+        }
+        for (LambdaSpecification<?> orSpecification : specification.getOrSpecifications()) {
+            collectDependencies(metamodel, managedType, orSpecification, dependencies);
+        }
+    }
+
+    /**
+     * 沿属性路径收集经过的实体类型，返回路径终点的类型，不是实体或嵌入类型时返回null
+     */
+    private static ManagedType<?> walk(Metamodel metamodel, ManagedType<?> managedType, String attributePath,
+                                       Set<Class<?>> dependencies) {
+        ManagedType<?> current = managedType;
+        for (String attributeName : attributePath.split("\\.")) {
+            if (current == null) {
+                return null;
+            }
+            Attribute<?, ?> attribute;
+            try {
+                attribute = current.getAttribute(attributeName);
+            } catch (IllegalArgumentException e) {
+                // 路径错误交给查询本身报错
+                return null;
+            }
+            Class<?> javaType = attribute instanceof PluralAttribute
+                    ? ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType()
+                    : attribute.getJavaType();
+            current = managedType(metamodel, javaType);
+            if (current != null) {
+                dependencies.add(javaType);
+            }
+        }
+        return current;
+    }
+
+    private static ManagedType<?> managedType(Metamodel metamodel, Class<?> javaType) {
+        for (ManagedType<?> managedType : metamodel.getManagedTypes()) {
+            if (managedType.getJavaType() == javaType) {
+                return managedType;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.vincenttho.jpa.executor;
+
+import java.util.function.IntSupplier;
+
+/**
+ * <p>分段执行器</p>
+ * 分段批量更新、删除时，每一段都交给它执行，通常用来让每一段在单独的事务中提交，缩短锁的持有时间
+ * 如（Spring）：chunk -> transactionTemplate.execute(status -> chunk.getAsInt())
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+@FunctionalInterface
+public interface ChunkRunner {
+
+    /** 直接在当前事务中执行 */
+    ChunkRunner DIRECT = IntSupplier::getAsInt;
+
+    /**
+     * <p>执行一段</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param chunk 一段的执行逻辑，返回影响行数
+     * @return int 影响行数
+     */
+    int run(IntSupplier chunk);
+
+}
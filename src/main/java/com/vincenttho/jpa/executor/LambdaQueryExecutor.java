@@ -0,0 +1,830 @@
+package com.vincenttho.jpa.executor;
+
+import com.vincenttho.jpa.config.LambdaSpecificationConfig;
+import com.vincenttho.jpa.domain.Keyset;
+import com.vincenttho.jpa.domain.KeysetPage;
+import com.vincenttho.jpa.domain.LambdaDelete;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.domain.LambdaUpdate;
+import com.vincenttho.jpa.domain.PredicateContext;
+import com.vincenttho.jpa.domain.Projection;
+import com.vincenttho.jpa.listener.SpecificationListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CommonAbstractCriteria;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * <p>LambdaSpecification查询执行器</p>
+ * 与Spring Data的findAll(spec)不同，条件值以参数方式绑定（CriteriaBuilder.parameter），
+ * 同一查询结构每次生成的JPQL一致，Hibernate的查询计划缓存可以命中，
+ * 适合配合{@link com.vincenttho.jpa.domain.SpecificationTemplate}使用
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class LambdaQueryExecutor<T> {
+
+    /** JDBC fetch size提示（Hibernate），其他JPA实现会忽略 */
+    private static final String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
+
+    /** 只读提示，实体不保留快照，也不会参与脏检查 */
+    private static final String HINT_READ_ONLY = "org.hibernate.readOnly";
+
+    private final EntityManager entityManager;
+
+    private final Class<T> poClass;
+
+    public LambdaQueryExecutor(EntityManager entityManager, Class<T> poClass) {
+        this.entityManager = entityManager;
+        this.poClass = poClass;
+    }
+
+    public EntityManager getEntityManager() {
+        return entityManager;
+    }
+
+    public Class<T> getPoClass() {
+        return poClass;
+    }
+
+    /**
+     * <p>查询全部</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @return java.util.List<T>
+     */
+    public List<T> findAll(LambdaSpecification<T> specification) {
+        return findAll(specification, Sort.unsorted());
+    }
+
+    /**
+     * <p>排序查询全部</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param sort 排序
+     * @return java.util.List<T>
+     */
+    public List<T> findAll(LambdaSpecification<T> specification, Sort sort) {
+        // 条件恒假时不查询数据库
+        LambdaSpecification<T> optimized = specification.optimize();
+        if (optimized.isAlwaysFalse()) {
+            return new ArrayList<>();
+        }
+        CriteriaQuery<T> criteriaQuery = entityManager.getCriteriaBuilder().createQuery(poClass);
+        PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+        try {
+            TypedQuery<T> query = createQuery(optimized, criteriaQuery, sort, context);
+            return observe(optimized, "findAll", query::getResultList, List::size);
+        } finally {
+            context.cleanup();
+        }
+    }
+
+    /**
+     * <p>分页查询</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param pageable 分页
+     * @return org.springframework.data.domain.Page<T>
+     */
+    public Page<T> findAll(LambdaSpecification<T> specification, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return PageableExecutionUtils.getPage(findAll(specification, pageable.getSort()), pageable, () -> count(specification));
+        }
+        List<T> content = findAll(specification, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    /**
+     * <p>不查总数的分页查询</p>
+     * 多查一行用于判断是否有下一页，不执行count查询
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param pageable 分页
+     * @return org.springframework.data.domain.Slice<T>
+     */
+    public Slice<T> findSlice(LambdaSpecification<T> specification, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll(specification, pageable.getSort()), pageable, false);
+        }
+        return toSlice(findAll(specification, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1), pageable);
+    }
+
+    private static <R> Slice<R> toSlice(List<R> content, Pageable pageable) {
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    /**
+     * <p>查询第一条</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param sort 排序
+     * @return java.util.Optional<T>
+     */
+    public Optional<T> findFirst(LambdaSpecification<T> specification, Sort sort) {
+        List<T> content = findAll(specification, sort, 0, 1);
+        return content.isEmpty() ? Optional.empty() : Optional.of(content.get(0));
+    }
+
+    /**
+     * <p>流式查询</p>
+     * 使用默认的fetch size和清空间隔，见{@link #stream(LambdaSpecification, Sort, int, int)}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param sort 排序
+     * @return java.util.stream.Stream<T>
+     */
+    public Stream<T> stream(LambdaSpecification<T> specification, Sort sort) {
+        return stream(specification, sort, LambdaSpecificationConfig.getStreamFetchSize(), LambdaSpecificationConfig.getStreamClearInterval());
+    }
+
+    /**
+     * <p>流式查询</p>
+     * 基于只进游标逐批读取，实体以只读方式加载，每读取clearInterval行清空一次持久化上下文，
+     * 无论结果有多少行，内存占用都保持平稳。
+     * 返回的Stream持有数据库连接上的游标，必须关闭（try-with-resources），
+     * 清空持久化上下文会让当前EntityManager中的其他实体也变成游离状态，请在专用的EntityManager或事务中使用。
+     * 关闭时通知监听器，耗时从执行查询到关闭，包括调用方处理每一行的时间，行数为关闭前读取的行数
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param sort 排序
+     * @param fetchSize JDBC fetch size
+     * @param clearInterval 每读取多少行清空一次持久化上下文
+     * @return java.util.stream.Stream<T>
+     */
+    public Stream<T> stream(LambdaSpecification<T> specification, Sort sort, int fetchSize, int clearInterval) {
+        if (clearInterval < 1) {
+            throw new IllegalArgumentException(String.format("清空持久化上下文的间隔不能小于1，当前值为：%s", clearInterval));
+        }
+        LambdaSpecification<T> optimized = specification.optimize();
+        if (optimized.isAlwaysFalse()) {
+            return Stream.empty();
+        }
+        CriteriaQuery<T> criteriaQuery = entityManager.getCriteriaBuilder().createQuery(poClass);
+        PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+        SpecificationListener listener = LambdaSpecificationConfig.getSpecificationListener();
+        long start;
+        Stream<T> resultStream;
+        try {
+            TypedQuery<T> query = createQuery(optimized, criteriaQuery, sort, context);
+            query.setHint(HINT_FETCH_SIZE, fetchSize);
+            query.setHint(HINT_READ_ONLY, true);
+            // 只读查询，不需要在查询前自动flush
+            query.setFlushMode(FlushModeType.COMMIT);
+            start = System.nanoTime();
+            resultStream = query.getResultStream();
+        } catch (RuntimeException e) {
+            context.cleanup();
+            throw e;
+        }
+
+        Spliterator<T> results = resultStream.spliterator();
+        // 已读取的行数
+        long[] count = new long[1];
+        Spliterator<T> clearing = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                // 上一行已经处理完，在读取下一行之前清空
+                if (count[0] > 0 && count[0] % clearInterval == 0) {
+                    entityManager.clear();
+                }
+                return results.tryAdvance(entity -> {
+                    count[0]++;
+                    action.accept(entity);
+                });
+            }
+        };
+        Stream<T> stream = StreamSupport.stream(clearing, false)
+                .onClose(resultStream::close)
+                .onClose(context::cleanup);
+        if (listener != SpecificationListener.NOOP) {
+            stream = stream.onClose(() -> listener.onExecute(optimized, "stream", System.nanoTime() - start, count[0]));
+        }
+        return stream;
+    }
+
+    /**
+     * <p>流式遍历</p>
+     * 见{@link #stream(LambdaSpecification, Sort)}，遍历结束后自动关闭游标
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param sort 排序
+     * @param consumer 每一行的处理
+     */
+    public void forEach(LambdaSpecification<T> specification, Sort sort, Consumer<? super T> consumer) {
+        try (Stream<T> stream = stream(specification, sort)) {
+            stream.forEach(consumer);
+        }
+    }
+
+    /**
+     * <p>投影查询</p>
+     * 只查询投影中的字段，结果不是实体，不会进入持久化上下文
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param projection 投影
+     * @return java.util.List<R>
+     */
+    public <R> List<R> findAll(LambdaSpecification<T> specification, Projection<T, R> projection) {
+        return findAll(specification, projection, Sort.unsorted());
+    }
+
+    /**
+     * <p>排序投影查询</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param projection 投影
+     * @param sort 排序
+     * @return java.util.List<R>
+     */
+    public <R> List<R> findAll(LambdaSpecification<T> specification, Projection<T, R> projection, Sort sort) {
+        return findAll(specification, projection, sort, 0, -1);
+    }
+
+    /**
+     * <p>分页投影查询</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param projection 投影
+     * @param pageable 分页
+     * @return org.springframework.data.domain.Page<R>
+     */
+    public <R> Page<R> findAll(LambdaSpecification<T> specification, Projection<T, R> projection, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return PageableExecutionUtils.getPage(findAll(specification, projection, pageable.getSort()), pageable, () -> count(specification));
+        }
+        List<R> content = findAll(specification, projection, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    /**
+     * <p>不查总数的投影分页查询</p>
+     * 见{@link #findSlice(LambdaSpecification, Pageable)}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param projection 投影
+     * @param pageable 分页
+     * @return org.springframework.data.domain.Slice<R>
+     */
+    public <R> Slice<R> findSlice(LambdaSpecification<T> specification, Projection<T, R> projection, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll(specification, projection, pageable.getSort()), pageable, false);
+        }
+        return toSlice(findAll(specification, projection, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1), pageable);
+    }
+
+    /**
+     * <p>查询指定范围的投影</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param projection 投影
+     * @param sort 排序
+     * @param offset 起始行
+     * @param limit 最大行数，小于0时不限制
+     * @return java.util.List<R>
+     */
+    protected <R> List<R> findAll(LambdaSpecification<T> specification, Projection<T, R> projection, Sort sort, long offset, int limit) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        if (optimized.isAlwaysFalse()) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> criteriaQuery = projection.createQuery(criteriaBuilder);
+        PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+        try {
+            Root<T> root = criteriaQuery.from(poClass);
+            // 查询结果不是实体，toPredicate时不会fetch
+            applySpecification(optimized, root, criteriaQuery, context);
+            projection.select(criteriaQuery, root, context);
+            if (sort.isSorted()) {
+                criteriaQuery.orderBy(toOrders(sort, root, criteriaBuilder));
+            }
+
+            TypedQuery<R> query = entityManager.createQuery(criteriaQuery);
+            context.bindParameters(query);
+            if (limit >= 0) {
+                query.setFirstResult((int) offset);
+                query.setMaxResults(limit);
+            }
+            return observe(specification, "findAll", query::getResultList, List::size);
+        } finally {
+            context.cleanup();
+        }
+    }
+
+    /**
+     * <p>keyset分页查询</p>
+     * 条件需要通过{@link com.vincenttho.jpa.domain.LambdaPredicateBuilder#seekToken}等方法设置keyset分页，
+     * 多查一行用于判断是否有下一页，不执行count查询
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param size 每页数量
+     * @return com.vincenttho.jpa.domain.KeysetPage<T>
+     */
+    public KeysetPage<T> findKeysetPage(LambdaSpecification<T> specification, int size) {
+        Keyset<T> keyset = specification.getKeyset();
+        if (keyset == null) {
+            throw new IllegalArgumentException("keyset分页查询需要先设置排序键");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException(String.format("每页数量不能小于1，当前值为：%s", size));
+        }
+        List<T> content = findAll(specification, Sort.unsorted(), 0, size + 1);
+        if (content.size() <= size) {
+            return new KeysetPage<>(content, null);
+        }
+        content = content.subList(0, size);
+        return new KeysetPage<>(content, keyset.token(content.get(size - 1)));
+    }
+
+    /**
+     * <p>查询指定范围的实体</p>
+     * 存在集合关联的fetch join时，数据库无法按主表行分页（Hibernate会查出全部数据后在内存中分页），
+     * 此时先按条件分页查出主键，再按主键fetch实体，结果顺序与主键查询一致
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param sort 排序
+     * @param offset 起始行
+     * @param limit 最大行数
+     * @return java.util.List<T>
+     */
+    protected List<T> findAll(LambdaSpecification<T> specification, Sort sort, long offset, int limit) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        if (optimized.isAlwaysFalse()) {
+            return new ArrayList<>();
+        }
+        SingularAttribute<? super T, ?> idAttribute = collectionFetchIdAttribute(optimized);
+        if (idAttribute != null) {
+            List<Object> ids = findIds(optimized, sort, idAttribute, offset, limit);
+            return ids.isEmpty() ? new ArrayList<>() : findByIds(optimized, idAttribute, ids);
+        }
+
+        CriteriaQuery<T> criteriaQuery = entityManager.getCriteriaBuilder().createQuery(poClass);
+        PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+        try {
+            TypedQuery<T> query = createQuery(optimized, criteriaQuery, sort, context);
+            query.setFirstResult((int) offset);
+            query.setMaxResults(limit);
+            return observe(optimized, "findAll", query::getResultList, List::size);
+        } finally {
+            context.cleanup();
+        }
+    }
+
+    /**
+     * <p>存在集合关联的fetch join时返回主键属性</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @return javax.persistence.metamodel.SingularAttribute 没有集合关联的fetch join或者是复合主键时返回null
+     */
+    private SingularAttribute<? super T, ?> collectionFetchIdAttribute(LambdaSpecification<T> specification) {
+        if (specification.getFetches().isEmpty()) {
+            return null;
+        }
+        EntityType<T> entityType = entityManager.getMetamodel().entity(poClass);
+        if (!entityType.hasSingleIdAttribute()) {
+            return null;
+        }
+        for (String fetch : specification.getFetches()) {
+            ManagedType<?> managedType = entityType;
+            for (String attributeName : fetch.split("\\.")) {
+                Attribute<?, ?> attribute = managedType.getAttribute(attributeName);
+                if (attribute.isCollection()) {
+                    return entityType.getId(entityType.getIdType().getJavaType());
+                }
+                if (!(attribute instanceof SingularAttribute) || !(((SingularAttribute<?, ?>) attribute).getType() instanceof ManagedType)) {
+                    break;
+                }
+                managedType = (ManagedType<?>) ((SingularAttribute<?, ?>) attribute).getType();
+            }
+        }
+        return null;
+    }
+
+    private List<Object> findIds(LambdaSpecification<T> specification, Sort sort, SingularAttribute<? super T, ?> idAttribute,
+                                 long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> criteriaQuery = criteriaBuilder.createQuery(Object.class);
+        PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+        try {
+            Root<T> root = criteriaQuery.from(poClass);
+            // 查询结果不是实体，toPredicate时不会fetch
+            applySpecification(specification, root, criteriaQuery, context);
+            criteriaQuery.select(root.get(idAttribute));
+            if (sort.isSorted()) {
+                criteriaQuery.orderBy(toOrders(sort, root, criteriaBuilder));
+            }
+
+            TypedQuery<Object> query = entityManager.createQuery(criteriaQuery);
+            context.bindParameters(query);
+            query.setFirstResult((int) offset);
+            query.setMaxResults(limit);
+            return observe(specification, "findIds", query::getResultList, List::size);
+        } finally {
+            context.cleanup();
+        }
+    }
+
+    private List<T> findByIds(LambdaSpecification<T> specification, SingularAttribute<? super T, ?> idAttribute, List<Object> ids) {
+        CriteriaQuery<T> criteriaQuery = entityManager.getCriteriaBuilder().createQuery(poClass);
+        PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+        List<T> content;
+        try {
+            Root<T> root = criteriaQuery.from(poClass);
+            for (String fetch : specification.getFetches()) {
+                context.fetch(root, fetch);
+            }
+            criteriaQuery.select(root).where(context.in(root.get(idAttribute), ids, null, false));
+
+            TypedQuery<T> query = entityManager.createQuery(criteriaQuery);
+            context.bindParameters(query);
+            content = observe(specification, "findByIds", query::getResultList, List::size);
+        } finally {
+            context.cleanup();
+        }
+
+        // 按主键查询的顺序排序
+        Map<Object, Integer> positions = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        content.sort(Comparator.comparing(entity -> positions.get(persistenceUnitUtil.getIdentifier(entity))));
+        return content;
+    }
+
+    /**
+     * <p>查询数量</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @return long
+     */
+    public long count(LambdaSpecification<T> specification) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        if (optimized.isAlwaysFalse()) {
+            return 0L;
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
+        PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+        try {
+            Root<T> root = criteriaQuery.from(poClass);
+            applySpecification(optimized, root, criteriaQuery, context);
+            criteriaQuery.select(criteriaQuery.isDistinct() ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root));
+            // count查询不需要排序
+            criteriaQuery.orderBy();
+
+            TypedQuery<Long> query = entityManager.createQuery(criteriaQuery);
+            context.bindParameters(query);
+            return observe(optimized, "count", query::getSingleResult, result -> 1L);
+        } finally {
+            context.cleanup();
+        }
+    }
+
+    /**
+     * <p>是否存在满足条件的数据</p>
+     * 只查询常量并限制一行，数据库找到第一行即可返回，不需要像count一样统计全部匹配行
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @return boolean
+     */
+    public boolean exists(LambdaSpecification<T> specification) {
+        LambdaSpecification<T> optimized = specification.optimize();
+        if (optimized.isAlwaysFalse()) {
+            return false;
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> criteriaQuery = criteriaBuilder.createQuery(Integer.class);
+        PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+        try {
+            Root<T> root = criteriaQuery.from(poClass);
+            applySpecification(optimized, root, criteriaQuery, context);
+            // 只判断是否有行，集合关联join产生的重复行和排序都不影响结果
+            criteriaQuery.select(criteriaBuilder.literal(1)).distinct(false);
+            criteriaQuery.orderBy();
+
+            TypedQuery<Integer> query = entityManager.createQuery(criteriaQuery);
+            context.bindParameters(query);
+            query.setMaxResults(1);
+            return !observe(optimized, "exists", query::getResultList, List::size).isEmpty();
+        } finally {
+            context.cleanup();
+        }
+    }
+
+    /**
+     * <p>批量更新</p>
+     * 一条update语句完成，返回影响行数，需要在事务中执行
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param update 批量更新
+     * @return int 影响行数
+     */
+    public int execute(LambdaUpdate<T> update) {
+        return executeUpdate(update, null);
+    }
+
+    /**
+     * <p>分段批量更新</p>
+     * 按主键顺序每次取chunkSize行的主键，再按主键和条件更新，每一段交给chunkRunner执行，
+     * 配合每段单独提交事务，可以缩短锁的持有时间
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param update 批量更新
+     * @param chunkSize 每段行数
+     * @param chunkRunner 分段执行器
+     * @return int 影响行数
+     */
+    public int execute(LambdaUpdate<T> update, int chunkSize, ChunkRunner chunkRunner) {
+        return executeInChunks(checkWhere(update.getSpecification()), chunkSize, chunkRunner, ids -> executeUpdate(update, ids));
+    }
+
+    /**
+     * <p>批量删除</p>
+     * 一条delete语句完成，返回影响行数，需要在事务中执行
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param delete 批量删除
+     * @return int 影响行数
+     */
+    public int execute(LambdaDelete<T> delete) {
+        return executeDelete(delete, null);
+    }
+
+    /**
+     * <p>分段批量删除</p>
+     * 见{@link #execute(LambdaUpdate, int, ChunkRunner)}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param delete 批量删除
+     * @param chunkSize 每段行数
+     * @param chunkRunner 分段执行器
+     * @return int 影响行数
+     */
+    public int execute(LambdaDelete<T> delete, int chunkSize, ChunkRunner chunkRunner) {
+        return executeInChunks(checkWhere(delete.getSpecification()), chunkSize, chunkRunner, ids -> executeDelete(delete, ids));
+    }
+
+    private LambdaSpecification<T> checkWhere(LambdaSpecification<T> specification) {
+        if (specification == null) {
+            throw new IllegalStateException("批量更新、删除需要先通过where设置条件");
+        }
+        return specification;
+    }
+
+    private int executeInChunks(LambdaSpecification<T> specification, int chunkSize, ChunkRunner chunkRunner,
+                                ToIntFunction<List<Object>> chunkExecutor) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(String.format("每段行数不能小于1，当前值为：%s", chunkSize));
+        }
+        LambdaSpecification<T> optimized = specification.optimize();
+        if (optimized.isAlwaysFalse()) {
+            return 0;
+        }
+        SingularAttribute<? super T, ?> idAttribute = idAttribute();
+        // 上一段最后一个主键，下一段从它之后开始，已经处理过的行不会再被取到
+        Object[] lastId = new Object[1];
+        boolean[] finished = new boolean[1];
+        int total = 0;
+        while (!finished[0]) {
+            total += chunkRunner.run(() -> {
+                List<Object> ids = findChunkIds(optimized, idAttribute, lastId[0], chunkSize);
+                if (ids.size() < chunkSize) {
+                    finished[0] = true;
+                }
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                lastId[0] = ids.get(ids.size() - 1);
+                return chunkExecutor.applyAsInt(ids);
+            });
+        }
+        return total;
+    }
+
+    private List<Object> findChunkIds(LambdaSpecification<T> specification, SingularAttribute<? super T, ?> idAttribute,
+                                      Object lastId, int chunkSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> criteriaQuery = criteriaBuilder.createQuery(Object.class);
+        PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+        try {
+            Root<T> root = criteriaQuery.from(poClass);
+            Path idPath = root.get(idAttribute);
+            Predicate predicate = specification.toPredicate(root, context);
+            if (lastId != null) {
+                predicate = criteriaBuilder.and(predicate, criteriaBuilder.greaterThan(idPath, context.parameter((Comparable) lastId)));
+            }
+            criteriaQuery.select(idPath).where(predicate).orderBy(criteriaBuilder.asc(idPath));
+
+            TypedQuery<Object> query = entityManager.createQuery(criteriaQuery);
+            context.bindParameters(query);
+            query.setMaxResults(chunkSize);
+            return observe(specification, "findChunkIds", query::getResultList, List::size);
+        } finally {
+            context.cleanup();
+        }
+    }
+
+    private int executeUpdate(LambdaUpdate<T> update, List<Object> ids) {
+        if (update.getAssignments().isEmpty()) {
+            throw new IllegalStateException("批量更新需要先通过set设置更新值");
+        }
+        LambdaSpecification<T> specification = checkWhere(update.getSpecification()).optimize();
+        if (specification.isAlwaysFalse()) {
+            return 0;
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> criteriaUpdate = criteriaBuilder.createCriteriaUpdate(poClass);
+        // Hibernate 5不能给CriteriaUpdate/CriteriaDelete绑定显式参数，使用字面量方式翻译，字面量仍会以隐式参数绑定
+        PredicateContext context = PredicateContext.literal(criteriaBuilder, criteriaUpdate);
+        Root<T> root = criteriaUpdate.from(poClass);
+        for (Map.Entry<String, Object> assignment : update.getAssignments().entrySet()) {
+            Path<Object> path = root.get(assignment.getKey());
+            Object value = assignment.getValue();
+            Expression<Object> expression = value == null
+                    ? (Expression<Object>) criteriaBuilder.nullLiteral(path.getJavaType())
+                    : criteriaBuilder.literal(value);
+            criteriaUpdate.<Object>set(path, expression);
+        }
+        criteriaUpdate.where(restriction(specification, root, criteriaUpdate, context, ids));
+        return observe(specification, "update", entityManager.createQuery(criteriaUpdate)::executeUpdate, Integer::longValue);
+    }
+
+    private int executeDelete(LambdaDelete<T> delete, List<Object> ids) {
+        LambdaSpecification<T> specification = checkWhere(delete.getSpecification()).optimize();
+        if (specification.isAlwaysFalse()) {
+            return 0;
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<T> criteriaDelete = criteriaBuilder.createCriteriaDelete(poClass);
+        PredicateContext context = PredicateContext.literal(criteriaBuilder, criteriaDelete);
+        Root<T> root = criteriaDelete.from(poClass);
+        criteriaDelete.where(restriction(specification, root, criteriaDelete, context, ids));
+        return observe(specification, "delete", entityManager.createQuery(criteriaDelete)::executeUpdate, Integer::longValue);
+    }
+
+    /**
+     * <p>批量更新、删除的where条件</p>
+     * update/delete语句不能join，条件中有多级属性路径时改为 id in (select id from ... where 条件)
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param root
+     * @param criteria
+     * @param context 翻译上下文
+     * @param ids 分段执行时本段的主键，不分段时为null
+     * @return javax.persistence.criteria.Predicate
+     */
+    private Predicate restriction(LambdaSpecification<T> specification, Root<T> root, CommonAbstractCriteria criteria,
+                                  PredicateContext context, List<Object> ids) {
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        List<Predicate> predicates = new ArrayList<>(2);
+        if (ids != null) {
+            predicates.add(context.in(root.get(idAttribute()), ids, null, false));
+        }
+        if (!specification.hasJoinPaths()) {
+            // 分段时再校验一次条件，取主键之后被其他事务修改的行不会被误更新
+            predicates.add(specification.toPredicate(root, context));
+        } else if (ids == null) {
+            SingularAttribute<? super T, ?> idAttribute = idAttribute();
+            Subquery<Object> subquery = criteria.subquery(Object.class);
+            Root<T> subRoot = subquery.from(poClass);
+            subquery.select((Path) subRoot.get(idAttribute)).where(specification.toPredicate(subRoot, context));
+            predicates.add(root.get(idAttribute).in(subquery));
+        }
+        return criteriaBuilder.and(predicates.toArray(new Predicate[predicates.size()]));
+    }
+
+    private SingularAttribute<? super T, ?> idAttribute() {
+        EntityType<T> entityType = entityManager.getMetamodel().entity(poClass);
+        if (!entityType.hasSingleIdAttribute()) {
+            throw new IllegalStateException(String.format("复合主键的实体不支持该操作：%s", poClass.getName()));
+        }
+        return entityType.getId(entityType.getIdType().getJavaType());
+    }
+
+    /**
+     * <p>执行查询并通知监听器</p>
+     * 没有注册监听器时直接执行
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 条件
+     * @param operation 操作
+     * @param execution 数据库往返
+     * @param rowCount 结果行数
+     * @return R
+     */
+    private static <R> R observe(LambdaSpecification<?> specification, String operation, Supplier<R> execution,
+                                 ToLongFunction<R> rowCount) {
+        SpecificationListener listener = LambdaSpecificationConfig.getSpecificationListener();
+        if (listener == SpecificationListener.NOOP) {
+            return execution.get();
+        }
+        long start = System.nanoTime();
+        R result = execution.get();
+        listener.onExecute(specification, operation, System.nanoTime() - start, rowCount.applyAsLong(result));
+        return result;
+    }
+
+    /**
+     * <p>创建实体查询</p>
+     * 查询执行完后调用方需要执行context.cleanup()
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param criteriaQuery
+     * @param sort 排序
+     * @param context 翻译上下文
+     * @return javax.persistence.TypedQuery<T>
+     */
+    protected TypedQuery<T> createQuery(LambdaSpecification<T> specification, CriteriaQuery<T> criteriaQuery,
+                                        Sort sort, PredicateContext context) {
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        Root<T> root = criteriaQuery.from(poClass);
+        applySpecification(specification, root, criteriaQuery, context);
+        criteriaQuery.select(root);
+        if (sort.isSorted()) {
+            criteriaQuery.orderBy(toOrders(sort, root, criteriaBuilder));
+        }
+
+        TypedQuery<T> query = entityManager.createQuery(criteriaQuery);
+        context.bindParameters(query);
+        return query;
+    }
+
+    /**
+     * <p>把Specification翻译成where条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @param root
+     * @param criteriaQuery
+     * @param context 翻译上下文
+     */
+    protected void applySpecification(LambdaSpecification<T> specification, Root<T> root,
+                                      CriteriaQuery<?> criteriaQuery, PredicateContext context) {
+        Predicate predicate = specification.toPredicate(root, criteriaQuery, context.getCriteriaBuilder(), context);
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.vincenttho.jpa.executor;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * <p>查询计时线程</p>
+ * 用于查询超时和批量查询的等待窗口，第一次使用时才创建；任务需要尽快返回，不能在计时线程中执行查询
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+final class QueryScheduler {
+
+    static final ScheduledThreadPoolExecutor SCHEDULER;
+
+    static {
+        SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "lambda-query-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
+    private QueryScheduler() {
+    }
+
+}
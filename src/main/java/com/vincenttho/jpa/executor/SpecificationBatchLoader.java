@@ -0,0 +1,375 @@
+package com.vincenttho.jpa.executor;
+
+import com.vincenttho.jpa.domain.Condition;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.enums.Operator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <p>批量查询</p>
+ * 收集结构相同（{@link LambdaSpecification#shapeFingerprint()}相同）、只在同一属性的一个eq/in条件上值不同的查询，
+ * 合并成一个in查询执行（见{@link LambdaSpecification#anyOf}，如多个eq(Po::getOrderNo, x)合并成一个in），
+ * 再按这个属性在数据库中的值把结果分给每个调用方，用于GraphQL resolver等一次请求发出大量相似查询的场景。
+ * 一批达到最大数量时立即执行；设置了等待窗口时，一批中第一个查询加入后最多等待这么久就执行，
+ * 否则由调用方在收集完后调用{@link #dispatch()}。
+ * 其余相同的条件由数据库保证，不在内存中重新计算；合并的属性值只能是整数、BigDecimal、LocalDate等不带时区的日期时间、Instant、枚举、布尔或UUID，
+ * 字符串在不区分大小写、忽略末尾空格的排序规则下与内存中的比较结果不同，不合并。
+ * 不能这样合并的一批中每种条件单独执行；有自定义条件构造Function、keyset分页、exists或多级属性路径的查询不合并，立即单独执行
+ * 如：SpecificationBatchLoader<Po> loader = SpecificationBatchLoader.of(asyncExecutor, 100, Duration.ofMillis(5));
+ *     CompletableFuture<List<Po>> orders = loader.load(LambdaSpecification.query(Po.class).eq(Po::getOrderNo, orderNo).build());
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class SpecificationBatchLoader<T> {
+
+    private final Class<T> poClass;
+
+    private final Function<LambdaSpecification<T>, CompletableFuture<List<T>>> batchQuery;
+
+    private final int maxBatchSize;
+
+    /** 等待窗口，为null时需要调用dispatch */
+    private final Duration maxWait;
+
+    /** 等待执行的批次，key为结构指纹，使用this加锁 */
+    private final Map<Long, Batch<T>> batches = new LinkedHashMap<>();
+
+    /**
+     * @param poClass 实体类
+     * @param batchQuery 执行合并后的查询，设置了等待窗口时在计时线程中调用，需要是异步的
+     * @param maxBatchSize 每批最多合并的查询数量
+     * @param maxWait 等待窗口，为null时需要调用{@link #dispatch()}
+     */
+    public SpecificationBatchLoader(Class<T> poClass, Function<LambdaSpecification<T>, CompletableFuture<List<T>>> batchQuery,
+                                    int maxBatchSize, Duration maxWait) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException(String.format("每批最多合并的查询数量不能小于1，当前值为：%s", maxBatchSize));
+        }
+        if (maxWait != null && maxWait.isNegative()) {
+            throw new IllegalArgumentException(String.format("等待窗口不能为负数，当前值为：%s", maxWait));
+        }
+        this.poClass = poClass;
+        this.batchQuery = batchQuery;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * <p>创建同步的批量查询</p>
+     * 查询在调用load或dispatch的线程中执行，通常每个请求创建一个，收集完后调用{@link #dispatch()}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor 查询执行器
+     * @param maxBatchSize 每批最多合并的查询数量
+     * @return com.vincenttho.jpa.executor.SpecificationBatchLoader<T>
+     */
+    public static <T> SpecificationBatchLoader<T> of(LambdaQueryExecutor<T> executor, int maxBatchSize) {
+        return new SpecificationBatchLoader<>(executor.getPoClass(), specification -> {
+            CompletableFuture<List<T>> result = new CompletableFuture<>();
+            try {
+                result.complete(executor.findAll(specification));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }, maxBatchSize, null);
+    }
+
+    /**
+     * <p>创建异步的批量查询</p>
+     * 可以在多个请求之间共用，等待窗口内结构相同的查询合并执行
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor 异步查询执行器
+     * @param maxBatchSize 每批最多合并的查询数量
+     * @param maxWait 等待窗口，为null时需要调用{@link #dispatch()}
+     * @return com.vincenttho.jpa.executor.SpecificationBatchLoader<T>
+     */
+    public static <T> SpecificationBatchLoader<T> of(AsyncLambdaQueryExecutor<T> executor, int maxBatchSize, Duration maxWait) {
+        return new SpecificationBatchLoader<>(executor.getPoClass(), executor::findAll, maxBatchSize, maxWait);
+    }
+
+    /**
+     * <p>加入批量查询</p>
+     * 恒假的条件直接返回空列表，不能合并的条件立即单独执行
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification
+     * @return java.util.concurrent.CompletableFuture<java.util.List<T>>
+     */
+    public CompletableFuture<List<T>> load(LambdaSpecification<T> specification) {
+        LambdaSpecification<T> frozen = specification.freeze();
+        if (frozen.isAlwaysFalse()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        if (!batchable(frozen)) {
+            return query(frozen);
+        }
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        long key = frozen.shapeFingerprint();
+        Batch<T> full = null;
+        synchronized (this) {
+            Batch<T> batch = batches.get(key);
+            if (batch == null) {
+                batch = new Batch<>();
+                batches.put(key, batch);
+                if (maxWait != null && maxBatchSize > 1) {
+                    Batch<T> scheduled = batch;
+                    batch.timer = QueryScheduler.SCHEDULER.schedule(() -> flush(key, scheduled),
+                            maxWait.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            batch.specifications.add(frozen);
+            batch.futures.add(result);
+            if (batch.specifications.size() >= maxBatchSize) {
+                batches.remove(key);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            execute(full);
+        }
+        return result;
+    }
+
+    /**
+     * <p>执行所有等待中的查询</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     */
+    public void dispatch() {
+        List<Batch<T>> pending;
+        synchronized (this) {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+        for (Batch<T> batch : pending) {
+            execute(batch);
+        }
+    }
+
+    /**
+     * <p>等待执行的查询数量</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return int
+     */
+    public synchronized int getPendingCount() {
+        int count = 0;
+        for (Batch<T> batch : batches.values()) {
+            count += batch.specifications.size();
+        }
+        return count;
+    }
+
+    private void flush(long key, Batch<T> batch) {
+        synchronized (this) {
+            // 已经满了或者被dispatch
+            if (batches.get(key) != batch) {
+                return;
+            }
+            batches.remove(key);
+        }
+        execute(batch);
+    }
+
+    /**
+     * <p>执行一批查询</p>
+     * 相同的条件只查询一次；只有一种条件时直接执行，能合并时合并成in查询后按属性值分开，否则每种条件单独执行。
+     * 合并查询失败时这一批的所有调用方都以同样的异常失败
+     */
+    private void execute(Batch<T> batch) {
+        if (batch.timer != null) {
+            batch.timer.cancel(false);
+        }
+        Map<LambdaSpecification<T>, List<CompletableFuture<List<T>>>> distinct = new LinkedHashMap<>();
+        for (int i = 0; i < batch.specifications.size(); i++) {
+            distinct.computeIfAbsent(batch.specifications.get(i), k -> new ArrayList<>()).add(batch.futures.get(i));
+        }
+        Map<LambdaSpecification<T>, LambdaSpecification<T>> splits = distinct.size() == 1 ? null : splits(distinct.keySet());
+        if (splits == null) {
+            for (Map.Entry<LambdaSpecification<T>, List<CompletableFuture<List<T>>>> entry : distinct.entrySet()) {
+                query(entry.getKey()).whenComplete((rows, e) -> complete(entry.getValue(), rows, e));
+            }
+            return;
+        }
+
+        CompletableFuture<List<T>> merged;
+        try {
+            merged = query(LambdaSpecification.anyOf(poClass, new ArrayList<>(distinct.keySet())));
+        } catch (RuntimeException e) {
+            merged = new CompletableFuture<>();
+            merged.completeExceptionally(e);
+        }
+        merged.whenComplete((rows, e) -> {
+            for (Map.Entry<LambdaSpecification<T>, List<CompletableFuture<List<T>>>> entry : distinct.entrySet()) {
+                List<T> matched = null;
+                Throwable error = e;
+                if (error == null) {
+                    try {
+                        matched = splits.get(entry.getKey()).filter(rows);
+                    } catch (RuntimeException filterError) {
+                        error = filterError;
+                    }
+                }
+                complete(entry.getValue(), matched, error);
+            }
+        });
+    }
+
+    /**
+     * 每个调用方拿到自己的列表
+     */
+    private static <T> void complete(List<CompletableFuture<List<T>>> futures, List<T> rows, Throwable error) {
+        for (int i = 0; i < futures.size(); i++) {
+            if (error != null) {
+                futures.get(i).completeExceptionally(error);
+            } else {
+                futures.get(i).complete(i == 0 ? rows : new ArrayList<>(rows));
+            }
+        }
+    }
+
+    /**
+     * <p>按合并的属性分开结果的条件</p>
+     * 各条件集除了同一属性上的一个eq/in条件外其余条件都相同，且这个条件的值可以在内存中与数据库一致地比较时，
+     * 每个条件集对应只有这个eq/in条件的条件集，合并查询的结果只按这个条件分开
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specifications 不重复的条件集
+     * @return java.util.Map 条件集 -> 分开结果的条件，不能合并时返回null
+     */
+    private Map<LambdaSpecification<T>, LambdaSpecification<T>> splits(Collection<LambdaSpecification<T>> specifications) {
+        List<Condition> common = null;
+        for (LambdaSpecification<T> specification : specifications) {
+            LambdaSpecification<T> optimized = specification.optimize();
+            if (optimized.isAlwaysFalse() || !optimized.getOrSpecifications().isEmpty()) {
+                return null;
+            }
+            if (common == null) {
+                common = new ArrayList<>(optimized.getConditions());
+            } else {
+                common.retainAll(optimized.getConditions());
+            }
+        }
+        String attributePath = null;
+        Map<LambdaSpecification<T>, LambdaSpecification<T>> splits = new LinkedHashMap<>();
+        for (LambdaSpecification<T> specification : specifications) {
+            List<Condition> rest = new ArrayList<>(specification.optimize().getConditions());
+            rest.removeAll(common);
+            if (rest.size() != 1 || !isSplittable(rest.get(0))) {
+                return null;
+            }
+            Condition condition = rest.get(0);
+            if (attributePath == null) {
+                attributePath = condition.getAttributePath();
+            } else if (!attributePath.equals(condition.getAttributePath())) {
+                return null;
+            }
+            LambdaSpecification<T> split = LambdaSpecification.query(poClass).build();
+            split.addCondition(condition);
+            splits.put(specification, split.freeze());
+        }
+        return splits;
+    }
+
+    /**
+     * 值都不为null且属于{@link #isComparableInMemory(Object)}的eq/in条件
+     */
+    private static boolean isSplittable(Condition condition) {
+        if ((condition.getOperator() != Operator.EQ && condition.getOperator() != Operator.IN) || condition.hasPlaceholder()
+                || condition.getOperands().isEmpty()) {
+            return false;
+        }
+        for (Object operand : condition.getOperands()) {
+            if (!isComparableInMemory(operand)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>在内存中与数据库比较结果一致的值</p>
+     * 字符串受排序规则影响（不区分大小写、忽略末尾空格）；浮点数有精度误差；
+     * java.util.Date映射到DATE列时绑定参数会去掉时间部分；带时区偏移的时间equals时比较偏移量，这些都不合并
+     */
+    private static boolean isComparableInMemory(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger || value instanceof BigDecimal || value instanceof Boolean
+                || value instanceof Enum || value instanceof UUID || value instanceof LocalDate
+                || value instanceof LocalDateTime || value instanceof LocalTime || value instanceof Instant;
+    }
+
+    private CompletableFuture<List<T>> query(LambdaSpecification<T> specification) {
+        try {
+            return batchQuery.apply(specification);
+        } catch (RuntimeException e) {
+            CompletableFuture<List<T>> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    /**
+     * <p>是否可以合并</p>
+     * 需要有可以按值分开结果的eq/in条件，见{@link #isSplittable(Condition)}；
+     * 自定义条件构造Function不能在内存中计算；
+     * exists和多级属性路径需要访问关联对象，异步查询返回的游离实体不能加载懒加载属性
+     */
+    private static boolean batchable(LambdaSpecification<?> specification) {
+        if (specification.getKeyset() != null || !specification.isEvaluable() || specification.hasJoinPaths()
+                || hasExists(specification)) {
+            return false;
+        }
+        for (Condition condition : specification.optimize().getConditions()) {
+            if (isSplittable(condition)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasExists(LambdaSpecification<?> specification) {
+        for (Condition condition : specification.getConditions()) {
+            if (condition.getOperator() == Operator.EXISTS || condition.getOperator() == Operator.NOT_EXISTS) {
+                return true;
+            }
+        }
+        for (LambdaSpecification<?> orSpecification : (List<LambdaSpecification<?>>) (List) specification.getOrSpecifications()) {
+            if (hasExists(orSpecification)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Batch<T> {
+
+        private final List<LambdaSpecification<T>> specifications = new ArrayList<>();
+
+        private final List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+
+        private ScheduledFuture<?> timer;
+
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.vincenttho.jpa.hibernate;
+
+import com.vincenttho.jpa.strategy.ArrayInStrategy;
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * <p>注册数组in函数</p>
+ * 注册{@link ArrayInStrategy#FUNCTION_NAME}函数，渲染成 (字段 = any(?))，PostgreSQL、H2可用。
+ * 使用{@link ArrayInStrategy}前需要通过配置注册：
+ * spring.jpa.properties.hibernate.metadata_builder_contributor=com.vincenttho.jpa.hibernate.ArrayInFunctionContributor
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class ArrayInFunctionContributor implements MetadataBuilderContributor {
+
+    @Override
+    public void contribute(MetadataBuilder metadataBuilder) {
+        metadataBuilder.applySqlFunction(ArrayInStrategy.FUNCTION_NAME,
+                new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "(?2 = any(?1))"));
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.vincenttho.jpa.hibernate;
+
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.domain.PredicateContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.Query;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.Collections;
+import java.util.function.Function;
+
+/**
+ * <p>SQL渲染</p>
+ * 把条件按实体查询的形式翻译成Hibernate生成的SQL，条件值以?占位，不执行查询。
+ * 用于{@link com.vincenttho.jpa.listener.QueryShapeRegistry#report(int, Function)}等诊断场景，每次渲染创建一个EntityManager
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class HibernateSqlRenderer implements Function<LambdaSpecification<?>, String> {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateSqlRenderer(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public String apply(LambdaSpecification<?> specification) {
+        return render((LambdaSpecification<Object>) specification);
+    }
+
+    private <T> String render(LambdaSpecification<T> specification) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            CriteriaQuery<T> criteriaQuery = entityManager.getCriteriaBuilder().createQuery(specification.getPoClass());
+            PredicateContext context = PredicateContext.parameterized(entityManager, criteriaQuery);
+            try {
+                Root<T> root = criteriaQuery.from(specification.getPoClass());
+                Predicate predicate = specification.toPredicate(root, criteriaQuery, entityManager.getCriteriaBuilder(), context);
+                if (predicate != null) {
+                    criteriaQuery.where(predicate);
+                }
+                criteriaQuery.select(root);
+                String hql = entityManager.createQuery(criteriaQuery).unwrap(Query.class).getQueryString();
+                String[] sqls = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getQueryPlanCache()
+                        .getHQLQueryPlan(hql, false, Collections.emptyMap()).getSqlStrings();
+                return String.join("; ", sqls);
+            } finally {
+                context.cleanup();
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+
+}
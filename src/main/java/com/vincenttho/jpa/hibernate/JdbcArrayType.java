@@ -0,0 +1,124 @@
+package com.vincenttho.jpa.hibernate;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.type.CustomType;
+import org.hibernate.type.Type;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * <p>JDBC数组类型</p>
+ * 把Object[]以java.sql.Array方式绑定到参数上，Hibernate默认会把Object[]序列化成二进制绑定。
+ * 只用于参数绑定，不支持映射到实体属性
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class JdbcArrayType implements UserType {
+
+    public static final JdbcArrayType INSTANCE = new JdbcArrayType();
+
+    /** 可以直接配合TypedParameterValue使用的Hibernate类型 */
+    public static final Type TYPE = new CustomType(INSTANCE);
+
+    @Override
+    public int[] sqlTypes() {
+        return new int[]{Types.ARRAY};
+    }
+
+    @Override
+    public Class returnedClass() {
+        return Object[].class;
+    }
+
+    @Override
+    public boolean equals(Object x, Object y) {
+        return Arrays.equals((Object[]) x, (Object[]) y);
+    }
+
+    @Override
+    public int hashCode(Object x) {
+        return Arrays.hashCode((Object[]) x);
+    }
+
+    @Override
+    public Object nullSafeGet(ResultSet rs, String[] names, SharedSessionContractImplementor session, Object owner) {
+        throw new UnsupportedOperationException("JdbcArrayType只用于参数绑定");
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, Object value, int index, SharedSessionContractImplementor session) throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.ARRAY);
+            return;
+        }
+        Object[] values = (Object[]) value;
+        st.setArray(index, st.getConnection().createArrayOf(elementTypeName(values), values));
+    }
+
+    /**
+     * <p>根据数组元素推断数据库元素类型</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param values 数组
+     * @return java.lang.String
+     */
+    private static String elementTypeName(Object[] values) {
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Long) {
+                return "bigint";
+            } else if (value instanceof Integer) {
+                return "integer";
+            } else if (value instanceof Short) {
+                return "smallint";
+            } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+                return "numeric";
+            } else if (value instanceof UUID) {
+                return "uuid";
+            } else if (value instanceof Date) {
+                return "timestamp";
+            }
+            return "varchar";
+        }
+        return "varchar";
+    }
+
+    @Override
+    public Object deepCopy(Object value) {
+        return value == null ? null : ((Object[]) value).clone();
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Serializable disassemble(Object value) {
+        return (Serializable) deepCopy(value);
+    }
+
+    @Override
+    public Object assemble(Serializable cached, Object owner) {
+        return deepCopy(cached);
+    }
+
+    @Override
+    public Object replace(Object original, Object target, Object owner) {
+        return deepCopy(original);
+    }
+
+}
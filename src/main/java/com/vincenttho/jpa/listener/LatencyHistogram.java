@@ -0,0 +1,96 @@
+package com.vincenttho.jpa.listener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>耗时直方图</p>
+ * 与HdrHistogram相同的对数-线性分桶：按微秒计，每个2的幂次区间再等分成8个桶，相对误差不超过12.5%，
+ * 桶数固定（312个），内存占用与记录次数无关。记录无锁，可以在多线程中并发记录
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+final class LatencyHistogram {
+
+    /** 每个2的幂次区间再分成2^SUB_BUCKET_BITS个桶 */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /** 最大记录2^40微秒（约12.7天），超过的计入最后一个桶 */
+    private static final int MAX_EXPONENT = 40;
+
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    void record(long nanos) {
+        counts.incrementAndGet(index(Math.max(nanos / 1000L, 0L)));
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * 桶内的最大值（微秒）
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long lowerBound = (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * <p>各个桶的计数快照</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return long[]
+     */
+    long[] snapshot() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * <p>计算百分位数</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param snapshot 计数快照
+     * @param percentile 百分位，0到100
+     * @return long 耗时（纳秒），取所在桶的最大值，没有记录时为0
+     */
+    static long percentile(long[] snapshot, double percentile) {
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i) * 1000L;
+            }
+        }
+        return upperBound(snapshot.length - 1) * 1000L;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.vincenttho.jpa.listener;
+
+import java.util.Map;
+
+/**
+ * <p>指标记录器</p>
+ * 把{@link MetricsSpecificationListener}产生的指标写入已有的指标库，本项目不依赖任何指标库
+ * 如（Micrometer）：
+ *     recordTime -> Timer.builder(name).tags(toTags(tags)).register(registry).record(nanos, TimeUnit.NANOSECONDS)
+ *     recordValue -> DistributionSummary.builder(name).tags(toTags(tags)).register(registry).record(value)
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public interface MetricsRecorder {
+
+    /**
+     * <p>记录耗时</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param name 指标名
+     * @param nanos 耗时（纳秒）
+     * @param tags 标签，不可修改
+     */
+    void recordTime(String name, long nanos, Map<String, String> tags);
+
+    /**
+     * <p>记录数值</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param name 指标名
+     * @param value 值
+     * @param tags 标签，不可修改
+     */
+    void recordValue(String name, long value, Map<String, String> tags);
+
+}
@@ -0,0 +1,89 @@
+package com.vincenttho.jpa.listener;
+
+import com.vincenttho.jpa.domain.LambdaSpecification;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>指标监听器</p>
+ * 把监听到的数据转换成指标交给{@link MetricsRecorder}，指标名以prefix开头（默认jpa.specification）：
+ *     prefix.build       构造耗时
+ *     prefix.translate   翻译耗时
+ *     prefix.conditions  条件数量
+ *     prefix.in.size     in/not in值数量，带attribute标签
+ *     prefix.execute     执行耗时，带operation标签
+ *     prefix.rows        返回行数，带operation标签
+ * 所有指标都带entity（实体类名）和shape（结构指纹的16进制）标签
+ * 如：LambdaSpecificationConfig.setSpecificationListener(new MetricsSpecificationListener(recorder));
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class MetricsSpecificationListener implements SpecificationListener {
+
+    public static final String DEFAULT_PREFIX = "jpa.specification";
+
+    private final MetricsRecorder recorder;
+
+    private final String buildName;
+    private final String translateName;
+    private final String conditionsName;
+    private final String inSizeName;
+    private final String executeName;
+    private final String rowsName;
+
+    public MetricsSpecificationListener(MetricsRecorder recorder) {
+        this(recorder, DEFAULT_PREFIX);
+    }
+
+    public MetricsSpecificationListener(MetricsRecorder recorder, String prefix) {
+        if (recorder == null) {
+            throw new IllegalArgumentException("指标记录器不能为null");
+        }
+        this.recorder = recorder;
+        this.buildName = prefix + ".build";
+        this.translateName = prefix + ".translate";
+        this.conditionsName = prefix + ".conditions";
+        this.inSizeName = prefix + ".in.size";
+        this.executeName = prefix + ".execute";
+        this.rowsName = prefix + ".rows";
+    }
+
+    @Override
+    public void onBuild(LambdaSpecification<?> specification, long nanos) {
+        recorder.recordTime(buildName, nanos, tags(specification, null, null));
+    }
+
+    @Override
+    public void onTranslate(LambdaSpecification<?> specification, long nanos, int conditionCount) {
+        Map<String, String> tags = tags(specification, null, null);
+        recorder.recordTime(translateName, nanos, tags);
+        recorder.recordValue(conditionsName, conditionCount, tags);
+    }
+
+    @Override
+    public void onInList(LambdaSpecification<?> specification, String attributePath, int size) {
+        recorder.recordValue(inSizeName, size, tags(specification, "attribute", attributePath));
+    }
+
+    @Override
+    public void onExecute(LambdaSpecification<?> specification, String operation, long nanos, long rowCount) {
+        Map<String, String> tags = tags(specification, "operation", operation);
+        recorder.recordTime(executeName, nanos, tags);
+        recorder.recordValue(rowsName, rowCount, tags);
+    }
+
+    private static Map<String, String> tags(LambdaSpecification<?> specification, String key, String value) {
+        Map<String, String> tags = new HashMap<>(4);
+        // exists的子条件集没有实体类型
+        tags.put("entity", specification.getPoClass() == null ? "unknown" : specification.getPoClass().getSimpleName());
+        tags.put("shape", Long.toHexString(specification.shapeFingerprint()));
+        if (key != null) {
+            tags.put(key, value);
+        }
+        return Collections.unmodifiableMap(tags);
+    }
+
+}
@@ -0,0 +1,318 @@
+package com.vincenttho.jpa.listener;
+
+import com.vincenttho.jpa.domain.Condition;
+import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.enums.ConnectionType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>查询结构统计</p>
+ * 按实体、操作和结构指纹（{@link LambdaSpecification#shapeFingerprint()}，即用到了哪些属性和操作符）
+ * 统计实际执行过的查询：执行次数、返回行数、耗时直方图和超过慢查询阈值的次数，用于判断需要建哪些索引。
+ * 最多记录maximumShapes种结构，满了以后淘汰执行次数最少的结构，内存占用不随结构种类增长。
+ * 已有结构的记录无锁，只有出现新结构时才加锁。每种结构保留第一次执行时的条件，用于渲染SQL
+ * 如：QueryShapeRegistry registry = new QueryShapeRegistry(1000, Duration.ofMillis(200));
+ *     LambdaSpecificationConfig.setSpecificationListener(registry);
+ *     log.info(registry.report(10, new HibernateSqlRenderer(entityManagerFactory)));
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class QueryShapeRegistry implements SpecificationListener {
+
+    private final int maximumShapes;
+
+    /** 慢查询阈值（纳秒） */
+    private final long slowThresholdNanos;
+
+    private final Map<ShapeKey, Shape> shapes = new ConcurrentHashMap<>();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maximumShapes 最多记录的结构数量
+     * @param slowThreshold 慢查询阈值
+     */
+    public QueryShapeRegistry(int maximumShapes, Duration slowThreshold) {
+        if (maximumShapes < 1) {
+            throw new IllegalArgumentException(String.format("最多记录的结构数量不能小于1，当前值为：%s", maximumShapes));
+        }
+        if (slowThreshold == null || slowThreshold.isNegative()) {
+            throw new IllegalArgumentException(String.format("慢查询阈值不能为空或负数，当前值为：%s", slowThreshold));
+        }
+        this.maximumShapes = maximumShapes;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public void onExecute(LambdaSpecification<?> specification, String operation, long nanos, long rowCount) {
+        ShapeKey key = new ShapeKey(specification.getPoClass(), operation, specification.shapeFingerprint());
+        Shape shape = shapes.get(key);
+        if (shape == null) {
+            shape = addShape(key, specification);
+        }
+        shape.record(nanos, rowCount, nanos >= slowThresholdNanos);
+    }
+
+    private Shape addShape(ShapeKey key, LambdaSpecification<?> specification) {
+        synchronized (shapes) {
+            Shape shape = shapes.get(key);
+            if (shape != null) {
+                return shape;
+            }
+            if (shapes.size() >= maximumShapes) {
+                // 淘汰执行次数最少的结构，频繁执行的结构会留下来
+                ShapeKey victim = null;
+                long minCount = Long.MAX_VALUE;
+                for (Map.Entry<ShapeKey, Shape> entry : shapes.entrySet()) {
+                    long count = entry.getValue().count.sum();
+                    if (count < minCount) {
+                        minCount = count;
+                        victim = entry.getKey();
+                    }
+                }
+                shapes.remove(victim);
+                evictionCount.increment();
+            }
+            shape = new Shape(key, describe(specification, key.operation), specification);
+            shapes.put(key, shape);
+            return shape;
+        }
+    }
+
+    /**
+     * <p>所有结构的统计快照</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return java.util.List<com.vincenttho.jpa.listener.QueryShapeStats>
+     */
+    public List<QueryShapeStats> getShapes() {
+        List<QueryShapeStats> stats = new ArrayList<>(shapes.size());
+        for (Shape shape : shapes.values()) {
+            stats.add(shape.snapshot());
+        }
+        return stats;
+    }
+
+    /**
+     * <p>超过慢查询阈值的结构</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return java.util.List<com.vincenttho.jpa.listener.QueryShapeStats> 按超过阈值的次数倒序
+     */
+    public List<QueryShapeStats> getSlowShapes() {
+        List<QueryShapeStats> stats = new ArrayList<>();
+        for (QueryShapeStats shape : getShapes()) {
+            if (shape.getSlowCount() > 0) {
+                stats.add(shape);
+            }
+        }
+        stats.sort(Comparator.comparingLong(QueryShapeStats::getSlowCount).reversed());
+        return stats;
+    }
+
+    /**
+     * <p>因数量超过上限被淘汰的结构数量</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return long
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public void clear() {
+        synchronized (shapes) {
+            shapes.clear();
+        }
+    }
+
+    /**
+     * <p>生成报告</p>
+     * 不渲染SQL，见{@link #report(int, Function)}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param topN 每一项列出的结构数量
+     * @return java.lang.String
+     */
+    public String report(int topN) {
+        return report(topN, null);
+    }
+
+    /**
+     * <p>生成报告</p>
+     * 列出p95耗时最高、执行次数最多以及超过慢查询阈值次数最多的结构
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param topN 每一项列出的结构数量
+     * @param sqlRenderer 把结构的示例条件渲染成SQL，如{@link com.vincenttho.jpa.hibernate.HibernateSqlRenderer}，为null时不渲染
+     * @return java.lang.String
+     */
+    public String report(int topN, Function<LambdaSpecification<?>, String> sqlRenderer) {
+        List<QueryShapeStats> stats = getShapes();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("查询结构统计：%d种结构，淘汰%d种，慢查询阈值%.2fms%n",
+                stats.size(), getEvictionCount(), slowThresholdNanos / 1e6));
+
+        List<QueryShapeStats> slowest = new ArrayList<>(stats);
+        slowest.sort(Comparator.comparingLong(QueryShapeStats::getP95Nanos).reversed());
+        appendSection(report, "最慢（p95）", slowest, topN, sqlRenderer);
+
+        List<QueryShapeStats> mostFrequent = new ArrayList<>(stats);
+        mostFrequent.sort(Comparator.comparingLong(QueryShapeStats::getCount).reversed());
+        appendSection(report, "最频繁", mostFrequent, topN, sqlRenderer);
+
+        appendSection(report, "超过慢查询阈值", getSlowShapes(), topN, sqlRenderer);
+        return report.toString();
+    }
+
+    private static void appendSection(StringBuilder report, String title, List<QueryShapeStats> stats, int topN,
+                                      Function<LambdaSpecification<?>, String> sqlRenderer) {
+        report.append("== ").append(title).append(" ==").append(System.lineSeparator());
+        for (int i = 0; i < stats.size() && i < topN; i++) {
+            QueryShapeStats shape = stats.get(i);
+            report.append(i + 1).append(". ").append(shape).append(System.lineSeparator());
+            if (sqlRenderer != null) {
+                String sql;
+                try {
+                    sql = sqlRenderer.apply(shape.getSample());
+                } catch (RuntimeException e) {
+                    sql = "渲染失败：" + e.getMessage();
+                }
+                report.append("   SQL: ").append(sql).append(System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * <p>结构描述</p>
+     * 只包含属性和操作符，条件按字母顺序排列，与结构指纹一样不受条件先后顺序影响
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 条件
+     * @param operation 操作
+     * @return java.lang.String 如：OrderPO.findAll[orderNo in, (remark eq or status eq)]
+     */
+    static String describe(LambdaSpecification<?> specification, String operation) {
+        String entity = specification.getPoClass() == null ? "unknown" : specification.getPoClass().getSimpleName();
+        return entity + "." + operation + "[" + describe(specification) + "]";
+    }
+
+    private static String describe(LambdaSpecification<?> specification) {
+        List<String> parts = new ArrayList<>();
+        for (Condition condition : specification.getConditions()) {
+            String part = condition.getAttributePath() + " " + condition.getOperator().name().toLowerCase();
+            switch (condition.getOperator()) {
+                case EQ_COLUMN:
+                case NOT_EQ_COLUMN:
+                    part += " " + condition.getOperand();
+                    break;
+                case EXISTS:
+                case NOT_EXISTS:
+                    part += " [" + describe((LambdaSpecification<?>) condition.getOperand()) + "]";
+                    break;
+                default:
+                    break;
+            }
+            parts.add(part);
+        }
+        for (LambdaSpecification<?> orSpecification : (List<LambdaSpecification<?>>) (List) specification.getOrSpecifications()) {
+            parts.add("(" + describe(orSpecification) + ")");
+        }
+        Collections.sort(parts);
+        return String.join(ConnectionType.OR.equals(specification.getConnectionType()) ? " or " : ", ", parts);
+    }
+
+    private static final class ShapeKey {
+
+        private final Class<?> entityClass;
+
+        private final String operation;
+
+        private final long shapeFingerprint;
+
+        private ShapeKey(Class<?> entityClass, String operation, long shapeFingerprint) {
+            this.entityClass = entityClass;
+            this.operation = operation;
+            this.shapeFingerprint = shapeFingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShapeKey)) {
+                return false;
+            }
+            ShapeKey that = (ShapeKey) o;
+            return shapeFingerprint == that.shapeFingerprint && entityClass == that.entityClass
+                    && Objects.equals(operation, that.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(shapeFingerprint) * 31 + entityClass.hashCode() * 7 + Objects.hashCode(operation);
+        }
+
+    }
+
+    private static final class Shape {
+
+        private final ShapeKey key;
+
+        private final String description;
+
+        private final LambdaSpecification<?> sample;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder slowCount = new LongAdder();
+
+        private final LongAdder rowCount = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private Shape(ShapeKey key, String description, LambdaSpecification<?> sample) {
+            this.key = key;
+            this.description = description;
+            this.sample = sample;
+        }
+
+        private void record(long nanos, long rows, boolean slow) {
+            count.increment();
+            rowCount.add(rows);
+            totalNanos.add(nanos);
+            histogram.record(nanos);
+            if (slow) {
+                slowCount.increment();
+            }
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        private QueryShapeStats snapshot() {
+            return new QueryShapeStats(key.entityClass, key.shapeFingerprint, description, sample, count.sum(),
+                    slowCount.sum(), rowCount.sum(), totalNanos.sum(), maxNanos.get(), histogram.snapshot());
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.vincenttho.jpa.listener;
+
+import com.vincenttho.jpa.domain.LambdaSpecification;
+
+/**
+ * <p>查询结构统计</p>
+ * {@link QueryShapeRegistry}中一种查询结构的快照，耗时均为纳秒，百分位数的相对误差不超过12.5%
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public final class QueryShapeStats {
+
+    private final Class<?> entityClass;
+
+    private final long shapeFingerprint;
+
+    /** 结构描述，如：OrderPO[orderNo in, status eq] */
+    private final String description;
+
+    /** 第一次执行时的条件，用于渲染SQL */
+    private final LambdaSpecification<?> sample;
+
+    private final long count;
+
+    /** 超过慢查询阈值的次数 */
+    private final long slowCount;
+
+    private final long rowCount;
+
+    private final long totalNanos;
+
+    private final long maxNanos;
+
+    private final long p50Nanos;
+
+    private final long p95Nanos;
+
+    private final long p99Nanos;
+
+    QueryShapeStats(Class<?> entityClass, long shapeFingerprint, String description, LambdaSpecification<?> sample,
+                    long count, long slowCount, long rowCount, long totalNanos, long maxNanos, long[] histogram) {
+        this.entityClass = entityClass;
+        this.shapeFingerprint = shapeFingerprint;
+        this.description = description;
+        this.sample = sample;
+        this.count = count;
+        this.slowCount = slowCount;
+        this.rowCount = rowCount;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        // 桶的上界可能超过实际最大值
+        this.p50Nanos = Math.min(LatencyHistogram.percentile(histogram, 50), maxNanos);
+        this.p95Nanos = Math.min(LatencyHistogram.percentile(histogram, 95), maxNanos);
+        this.p99Nanos = Math.min(LatencyHistogram.percentile(histogram, 99), maxNanos);
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public long getShapeFingerprint() {
+        return shapeFingerprint;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LambdaSpecification<?> getSample() {
+        return sample;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSlowCount() {
+        return slowCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP95Nanos() {
+        return p95Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, slow=%d, mean=%.2fms, p50=%.2fms, p95=%.2fms, p99=%.2fms, max=%.2fms, rows=%d}",
+                description, count, slowCount, getMeanNanos() / 1e6, p50Nanos / 1e6, p95Nanos / 1e6, p99Nanos / 1e6,
+                maxNanos / 1e6, rowCount);
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.vincenttho.jpa.listener;
+
+import com.vincenttho.jpa.domain.LambdaSpecification;
+
+/**
+ * <p>查询监听器</p>
+ * 接收条件构造、翻译和执行的耗时等数据，通过{@link com.vincenttho.jpa.config.LambdaSpecificationConfig#setSpecificationListener}注册。
+ * 默认是{@link #NOOP}，此时不会读取时钟，也不会统计条件，几乎没有开销。
+ * 回调在查询线程中同步执行，实现需要线程安全、尽快返回并且不抛出异常；
+ * 需要按查询结构分组时使用{@link LambdaSpecification#shapeFingerprint()}
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public interface SpecificationListener {
+
+    /** 不做任何处理 */
+    SpecificationListener NOOP = new SpecificationListener() {
+    };
+
+    /**
+     * <p>组合多个监听器</p>
+     * 按顺序依次回调，如同时使用指标监听器和{@link QueryShapeRegistry}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param listeners 监听器
+     * @return com.vincenttho.jpa.listener.SpecificationListener
+     */
+    static SpecificationListener composite(SpecificationListener... listeners) {
+        SpecificationListener[] copy = listeners.clone();
+        return new SpecificationListener() {
+            @Override
+            public void onBuild(LambdaSpecification<?> specification, long nanos) {
+                for (SpecificationListener listener : copy) {
+                    listener.onBuild(specification, nanos);
+                }
+            }
+
+            @Override
+            public void onTranslate(LambdaSpecification<?> specification, long nanos, int conditionCount) {
+                for (SpecificationListener listener : copy) {
+                    listener.onTranslate(specification, nanos, conditionCount);
+                }
+            }
+
+            @Override
+            public void onInList(LambdaSpecification<?> specification, String attributePath, int size) {
+                for (SpecificationListener listener : copy) {
+                    listener.onInList(specification, attributePath, size);
+                }
+            }
+
+            @Override
+            public void onExecute(LambdaSpecification<?> specification, String operation, long nanos, long rowCount) {
+                for (SpecificationListener listener : copy) {
+                    listener.onExecute(specification, operation, nanos, rowCount);
+                }
+            }
+        };
+    }
+
+    /**
+     * <p>条件构造完成</p>
+     * 从LambdaSpecification.query到第一次build的耗时，嵌套的or、exists条件集会分别回调
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 构造出的条件
+     * @param nanos 耗时（纳秒）
+     */
+    default void onBuild(LambdaSpecification<?> specification, long nanos) {
+    }
+
+    /**
+     * <p>条件翻译完成</p>
+     * 翻译成查询的where条件（包括优化、fetch和keyset排序）的耗时
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 翻译的条件（优化后）
+     * @param nanos 耗时（纳秒）
+     * @param conditionCount 条件数量，包括or、exists中的条件
+     */
+    default void onTranslate(LambdaSpecification<?> specification, long nanos, int conditionCount) {
+    }
+
+    /**
+     * <p>in/not in条件</p>
+     * 翻译时每个in/not in条件回调一次，值数量是补齐前的数量
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 翻译的条件（优化后）
+     * @param attributePath 属性路径
+     * @param size 值数量
+     */
+    default void onInList(LambdaSpecification<?> specification, String attributePath, int size) {
+    }
+
+    /**
+     * <p>查询执行完成</p>
+     * 数据库往返的耗时，不包括翻译；执行失败时不回调。流式查询在关闭时回调，耗时包括调用方处理每一行的时间
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param specification 执行的条件（优化后）
+     * @param operation 操作，如findAll、count、exists、stream、update、delete
+     * @param nanos 耗时（纳秒）
+     * @param rowCount 返回行数，count为1，exists为0或1，stream为关闭前读取的行数，update、delete为影响行数
+     */
+    default void onExecute(LambdaSpecification<?> specification, String operation, long nanos, long rowCount) {
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.vincenttho.jpa.strategy;
+
+import com.vincenttho.jpa.domain.PredicateContext;
+import com.vincenttho.jpa.hibernate.JdbcArrayType;
+import org.hibernate.jpa.TypedParameterValue;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+
+/**
+ * <p>数组参数in策略</p>
+ * 整个值列表作为一个数组参数绑定，生成 (a = any(?))，SQL长度和参数数量与值数量无关。
+ * 依赖Hibernate，并且需要注册{@link com.vincenttho.jpa.hibernate.ArrayInFunctionContributor}，
+ * 只在参数绑定方式（{@link com.vincenttho.jpa.executor.LambdaQueryExecutor}）下生效，否则退回分段in
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class ArrayInStrategy implements LargeInStrategy {
+
+    public static final String FUNCTION_NAME = "array_in";
+
+    @Override
+    public boolean supports(PredicateContext context, Path<?> path, List<Object> values) {
+        return context.isParameterBinding();
+    }
+
+    @Override
+    public Predicate toPredicate(PredicateContext context, Path<?> path, List<Object> values, boolean not) {
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        ParameterExpression<Object[]> array = context.parameter(Object[].class,
+                new TypedParameterValue(JdbcArrayType.TYPE, values.toArray()));
+        Expression<Boolean> arrayIn = criteriaBuilder.function(FUNCTION_NAME, Boolean.class, array, path);
+        return not ? criteriaBuilder.isFalse(arrayIn) : criteriaBuilder.isTrue(arrayIn);
+    }
+
+}
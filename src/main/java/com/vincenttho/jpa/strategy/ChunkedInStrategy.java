@@ -0,0 +1,47 @@
+package com.vincenttho.jpa.strategy;
+
+import com.vincenttho.jpa.domain.PredicateContext;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+
+/**
+ * <p>分段in策略</p>
+ * 把值列表按固定大小分段，生成 (a in (...) or a in (...))，not in则生成 (a not in (...) and a not in (...))，
+ * 不依赖任何数据库特性，其他策略不可用时也会退回到该策略
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class ChunkedInStrategy implements LargeInStrategy {
+
+    public static final ChunkedInStrategy DEFAULT = new ChunkedInStrategy(1000);
+
+    private final int chunkSize;
+
+    public ChunkedInStrategy(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(String.format("分段大小不能小于1，当前值为：%s", chunkSize));
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public Predicate toPredicate(PredicateContext context, Path<?> path, List<Object> values, boolean not) {
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        int chunkCount = (values.size() + chunkSize - 1) / chunkSize;
+        Predicate[] chunks = new Predicate[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            List<Object> chunk = values.subList(i * chunkSize, Math.min(values.size(), (i + 1) * chunkSize));
+            chunks[i] = context.inList(path, chunk, null, not);
+        }
+        return not ? criteriaBuilder.and(chunks) : criteriaBuilder.or(chunks);
+    }
+
+}
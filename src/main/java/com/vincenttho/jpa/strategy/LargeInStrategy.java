@@ -0,0 +1,46 @@
+package com.vincenttho.jpa.strategy;
+
+import com.vincenttho.jpa.domain.PredicateContext;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+
+/**
+ * <p>大in策略</p>
+ * 值数量超过{@link com.vincenttho.jpa.config.LambdaSpecificationConfig#getLargeInThreshold()}的in/not in条件，
+ * 会交给该策略生成Predicate，避免超出数据库的参数数量限制（Oracle 1000、SQL Server 2100、PostgreSQL 32767），
+ * 以及超长SQL的解析开销
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public interface LargeInStrategy {
+
+    /**
+     * <p>当前上下文是否支持该策略</p>
+     * 不支持时退回到{@link ChunkedInStrategy}
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param context 翻译上下文
+     * @param path 字段
+     * @param values 值列表
+     * @return boolean
+     */
+    default boolean supports(PredicateContext context, Path<?> path, List<Object> values) {
+        return true;
+    }
+
+    /**
+     * <p>生成in/not in条件</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param context 翻译上下文
+     * @param path 字段
+     * @param values 值列表
+     * @param not 是否not in
+     * @return javax.persistence.criteria.Predicate
+     */
+    Predicate toPredicate(PredicateContext context, Path<?> path, List<Object> values, boolean not);
+
+}
@@ -0,0 +1,123 @@
+package com.vincenttho.jpa.strategy;
+
+import com.vincenttho.jpa.domain.PredicateContext;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CommonAbstractCriteria;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.EntityType;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>临时表in策略</p>
+ * 把值列表批量写入临时表，再生成 a in (select value from 临时表 where batch = ?)，
+ * 查询执行完后删除本批次写入的数据。
+ * 临时表需要映射成实体，包含批次号（字符串）和值两个属性，如：
+ * <pre>
+ * &#64;Entity
+ * &#64;Table(name = "tmp_in_value")
+ * &#64;IdClass(InValueId.class)
+ * public class InValuePO {
+ *     &#64;Id private String batchId;
+ *     &#64;Id private String value;
+ * }
+ * </pre>
+ * 依赖Hibernate，只在参数绑定方式（{@link com.vincenttho.jpa.executor.LambdaQueryExecutor}）下、
+ * 存在事务且值类型与临时表值属性类型一致时生效，否则退回分段in
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public class TempTableInStrategy implements LargeInStrategy {
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final Class<?> entityClass;
+
+    private final String batchAttribute;
+
+    private final String valueAttribute;
+
+    public TempTableInStrategy(Class<?> entityClass, String batchAttribute, String valueAttribute) {
+        this.entityClass = entityClass;
+        this.batchAttribute = batchAttribute;
+        this.valueAttribute = valueAttribute;
+    }
+
+    @Override
+    public boolean supports(PredicateContext context, Path<?> path, List<Object> values) {
+        EntityManager entityManager = context.getEntityManager();
+        if (entityManager == null || !entityManager.isJoinedToTransaction()) {
+            return false;
+        }
+        Class<?> valueType = entityManager.getMetamodel().entity(entityClass).getAttribute(valueAttribute).getJavaType();
+        return valueType.equals(path.getJavaType());
+    }
+
+    @Override
+    public Predicate toPredicate(PredicateContext context, Path<?> path, List<Object> values, boolean not) {
+        EntityManager entityManager = context.getEntityManager();
+        String batchId = UUID.randomUUID().toString();
+        insert(entityManager, batchId, values);
+        context.addCleanup(() -> delete(entityManager, batchId));
+
+        CriteriaBuilder criteriaBuilder = context.getCriteriaBuilder();
+        CommonAbstractCriteria query = context.getQuery();
+        Subquery<Object> subquery = query.subquery(Object.class);
+        Root<?> tempRoot = subquery.from(entityClass);
+        subquery.select(tempRoot.get(valueAttribute))
+                .where(criteriaBuilder.equal(tempRoot.get(batchAttribute), context.parameter(batchId)));
+        Predicate in = path.in(subquery);
+        return not ? criteriaBuilder.not(in) : in;
+    }
+
+    /**
+     * <p>批量写入临时表</p>
+     * 直接使用JDBC批量写入，不经过持久化上下文
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param entityManager
+     * @param batchId 批次号
+     * @param values 值列表
+     */
+    private void insert(EntityManager entityManager, String batchId, List<Object> values) {
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class).getMetamodel().entityPersister(entityClass);
+        String sql = String.format("insert into %s (%s, %s) values (?, ?)", persister.getTableName(),
+                persister.getPropertyColumnNames(batchAttribute)[0], persister.getPropertyColumnNames(valueAttribute)[0]);
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int count = 0;
+                for (Object value : values) {
+                    statement.setString(1, batchId);
+                    statement.setObject(2, value);
+                    statement.addBatch();
+                    if (++count % INSERT_BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (count % INSERT_BATCH_SIZE != 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+    }
+
+    private void delete(EntityManager entityManager, String batchId) {
+        EntityType<?> entityType = entityManager.getMetamodel().entity(entityClass);
+        entityManager.createQuery(String.format("delete from %s t where t.%s = :batchId", entityType.getName(), batchAttribute))
+                .setParameter("batchId", batchId)
+                .executeUpdate();
+    }
+
+}
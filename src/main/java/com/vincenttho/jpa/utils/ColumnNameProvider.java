@@ -0,0 +1,32 @@
+package com.vincenttho.jpa.utils;
+
+/**
+ * <p>编译期生成的字段名表</p>
+ * 由perfect-jpa-specification-processor为每个@Entity、@MappedSuperclass、@Embeddable生成，
+ * 通过ServiceLoader加载。{@link ColumnUtils}优先按方法名查表，查不到时才按get方法命名规则推导字段名，
+ * 查表支持isXxx、与字段同名的访问方法（如record风格的active()），以及与字段名大小写不一致的getter
+ *
+ * @author VincentHo
+ * @date 2026-10-17
+ */
+public interface ColumnNameProvider {
+
+    /**
+     * <p>对应的类名</p>
+     * 与Class.getName()一致，内部类使用$分隔
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return java.lang.String
+     */
+    String getEntityClassName();
+
+    /**
+     * <p>获取方法对应的字段名</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param methodName 方法名
+     * @return java.lang.String 不是属性访问方法时返回null
+     */
+    String getColumnName(String methodName);
+
+}
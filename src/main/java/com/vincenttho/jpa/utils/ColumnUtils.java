@@ -1,9 +1,16 @@
 package com.vincenttho.jpa.utils;
 
+import com.vincenttho.jpa.domain.PropertyPath;
 import com.vincenttho.jpa.domain.SerializableFunction;
 
 import java.lang.invoke.SerializedLambda;
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * <p>字段名工具</p>
@@ -13,6 +20,24 @@ import java.lang.reflect.Method;
  */
 public class ColumnUtils {
 
+    /**
+     * 字段名缓存
+     * 以lambda生成的合成类为key（同一个合成类对应的实现方法固定不变），
+     * 使用ClassValue保存，合成类被卸载时缓存项会随之回收
+     */
+    private static final ClassValue<ColumnNameHolder> COLUMN_NAME_CACHE = new ClassValue<ColumnNameHolder>() {
+        @Override
+        protected ColumnNameHolder computeValue(Class<?> type) {
+            return new ColumnNameHolder();
+        }
+    };
+
+    private static final LongAdder CACHE_HIT_COUNT = new LongAdder();
+
+    private static final LongAdder CACHE_MISS_COUNT = new LongAdder();
+
+    private static volatile boolean cacheEnabled = true;
+
     /**
      * <p>获取字段名</p>
      * @author VincentHo
@@ -21,7 +46,46 @@ public class ColumnUtils {
      * @return java.lang.String
      */
     public static <T> String getColumnName(SerializableFunction<T, Object> columnNameGetter) {
-        String methodName = getMethodName(columnNameGetter);
+        // 多级属性路径在构造时已经解析好
+        if (columnNameGetter instanceof PropertyPath) {
+            return ((PropertyPath) columnNameGetter).getPath();
+        }
+        if (!cacheEnabled) {
+            return resolveColumnName(columnNameGetter);
+        }
+
+        ColumnNameHolder holder = COLUMN_NAME_CACHE.get(columnNameGetter.getClass());
+        String columnName = holder.columnName;
+        if (columnName != null) {
+            CACHE_HIT_COUNT.increment();
+            return columnName;
+        }
+
+        // 并发下可能重复解析，但解析结果一致，不影响正确性
+        CACHE_MISS_COUNT.increment();
+        columnName = resolveColumnName(columnNameGetter);
+        holder.columnName = columnName;
+        return columnName;
+    }
+
+    /**
+     * <p>解析字段名（不经过缓存）</p>
+     * 优先查编译期生成的字段名表（见{@link ColumnNameProvider}），查不到时按get方法命名规则推导
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param columnNameGetter
+     * @return java.lang.String
+     */
+    private static <T> String resolveColumnName(SerializableFunction<T, Object> columnNameGetter) {
+        SerializedLambda serializedLambda = getSerializedLambda(columnNameGetter);
+        String methodName = serializedLambda.getImplMethodName();
+        ColumnNameProvider provider = ColumnNameProviders.PROVIDERS.get(serializedLambda.getImplClass().replace('/', '.'));
+        if (provider != null) {
+            String columnName = provider.getColumnName(methodName);
+            if (columnName != null) {
+                return columnName;
+            }
+        }
         if (methodName.startsWith("get")) {
             String filedName = methodName.substring(3, 4).toLowerCase() + methodName.substring(4);
             return filedName;
@@ -39,15 +103,111 @@ public class ColumnUtils {
      * @return java.lang.String
      */
     public static <T> String getMethodName(SerializableFunction<T, Object> columnNameGetter) {
+        return getSerializedLambda(columnNameGetter).getImplMethodName();
+    }
+
+    private static <T> SerializedLambda getSerializedLambda(SerializableFunction<T, Object> columnNameGetter) {
         try {
             Method writeReplace = columnNameGetter.getClass().getDeclaredMethod("writeReplace");
             writeReplace.setAccessible(true);
             Object sl = writeReplace.invoke(columnNameGetter);
-            SerializedLambda serializedLambda = (SerializedLambda)sl;
-            return serializedLambda.getImplMethodName();
+            return (SerializedLambda) sl;
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * <p>设置是否启用字段名缓存</p>
+     * 关闭后每次都通过反射解析字段名，已缓存的字段名会在重新开启后继续使用
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param enabled
+     */
+    public static void setCacheEnabled(boolean enabled) {
+        cacheEnabled = enabled;
+    }
+
+    public static boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * <p>字段名缓存命中次数</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return long
+     */
+    public static long getCacheHitCount() {
+        return CACHE_HIT_COUNT.sum();
+    }
+
+    /**
+     * <p>字段名缓存未命中次数</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return long
+     */
+    public static long getCacheMissCount() {
+        return CACHE_MISS_COUNT.sum();
+    }
+
+    /**
+     * <p>重置缓存命中统计</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     */
+    public static void resetCacheStatistics() {
+        CACHE_HIT_COUNT.reset();
+        CACHE_MISS_COUNT.reset();
+    }
+
+    /**
+     * 编译期生成的字段名表，第一次解析字段名时加载
+     */
+    private static final class ColumnNameProviders {
+
+        private static final Map<String, ColumnNameProvider> PROVIDERS = load();
+
+        private static Map<String, ColumnNameProvider> load() {
+            Map<String, ColumnNameProvider> providers = new HashMap<>();
+            // 实体可能由应用的类加载器加载，先查线程上下文类加载器
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            if (contextClassLoader != null) {
+                load(contextClassLoader, providers);
+            }
+            load(ColumnUtils.class.getClassLoader(), providers);
+            return providers;
+        }
+
+        private static void load(ClassLoader classLoader, Map<String, ColumnNameProvider> providers) {
+            Iterator<ColumnNameProvider> iterator = ServiceLoader.load(ColumnNameProvider.class, classLoader).iterator();
+            while (hasNext(iterator)) {
+                try {
+                    ColumnNameProvider provider = iterator.next();
+                    providers.putIfAbsent(provider.getEntityClassName(), provider);
+                } catch (ServiceConfigurationError e) {
+                    // 增量编译残留的登记项可能指向已删除的类，跳过后按命名规则推导
+                }
+            }
+        }
+
+        private static boolean hasNext(Iterator<ColumnNameProvider> iterator) {
+            try {
+                return iterator.hasNext();
+            } catch (ServiceConfigurationError e) {
+                // 登记文件无法读取
+                return false;
+            }
+        }
+
+    }
+
+    /**
+     * 字段名缓存项
+     */
+    private static final class ColumnNameHolder {
+        private volatile String columnName;
+    }
+
 }
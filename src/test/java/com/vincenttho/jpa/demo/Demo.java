@@ -1,12 +1,48 @@
 package com.vincenttho.jpa.demo;
 
+import com.vincenttho.jpa.cache.QueryResultCache;
+import com.vincenttho.jpa.config.LambdaSpecificationConfig;
+import com.vincenttho.jpa.demo.model.CustomerPO;
+import com.vincenttho.jpa.demo.model.OrderItemPO;
 import com.vincenttho.jpa.demo.model.OrderPO;
 import com.vincenttho.jpa.demo.model.OrderQueryCondition;
+import com.vincenttho.jpa.domain.Keyset;
+import com.vincenttho.jpa.domain.KeysetPage;
 import com.vincenttho.jpa.domain.LambdaSpecification;
+import com.vincenttho.jpa.domain.Placeholder;
+import com.vincenttho.jpa.domain.Projection;
+import com.vincenttho.jpa.domain.PropertyPath;
+import com.vincenttho.jpa.domain.SpecificationTemplate;
+import com.vincenttho.jpa.domain.SpecificationValidator;
+import com.vincenttho.jpa.executor.AsyncLambdaQueryExecutor;
+import com.vincenttho.jpa.executor.CachingLambdaQueryExecutor;
+import com.vincenttho.jpa.executor.ChunkRunner;
+import com.vincenttho.jpa.executor.LambdaQueryExecutor;
+import com.vincenttho.jpa.executor.SpecificationBatchLoader;
+import com.vincenttho.jpa.hibernate.HibernateSqlRenderer;
+import com.vincenttho.jpa.listener.QueryShapeRegistry;
+import com.vincenttho.jpa.listener.SpecificationListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Tuple;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>调用示例</p>
@@ -38,4 +74,373 @@ public class Demo {
                 .build();
     }
 
+    /**
+     * 模板只需构造一次，可以在多线程间共享
+     */
+    private static final SpecificationTemplate<OrderPO> ORDER_TEMPLATE = LambdaSpecification.query(OrderPO.class)
+            .eq(OrderPO::getOrderNo, Placeholder.of("orderNo"))
+            .eq(true, OrderPO::getOrderItemName, Placeholder.of("orderItemName"))
+            .template();
+
+    /**
+     * <p>模板调用示例</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param orderQueryCondition
+     */
+    public void templateDemo(OrderQueryCondition orderQueryCondition) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("orderNo", orderQueryCondition.getOrderNo());
+        values.put("orderItemName", orderQueryCondition.getOrderItemName());
+        Specification specification = ORDER_TEMPLATE.bind(values);
+    }
+
+    /**
+     * keyset分页的排序键，最后一个字段需要能唯一确定一行
+     */
+    private static final Keyset<OrderPO> ORDER_KEYSET = Keyset.of(OrderPO.class)
+            .desc(OrderPO::getCreateDate)
+            .desc(OrderPO::getPid);
+
+    /**
+     * <p>keyset分页调用示例</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @param token 上一页返回的续页标记，第一页传null
+     * @return java.lang.String 下一页的续页标记
+     */
+    public String keysetDemo(LambdaQueryExecutor<OrderPO> executor, String token) {
+        KeysetPage<OrderPO> page = executor.findKeysetPage(LambdaSpecification.query(OrderPO.class)
+                .seekToken(ORDER_KEYSET, token)
+                .build(), 20);
+        return page.getNextToken();
+    }
+
+    /**
+     * <p>关联属性调用示例</p>
+     * 两个条件共用同一个join
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param orderQueryCondition
+     */
+    public void propertyPathDemo(OrderQueryCondition orderQueryCondition) {
+        Specification specification = LambdaSpecification.query(OrderPO.class)
+                .eq(PropertyPath.of(OrderPO::getCustomer).then(CustomerPO::getRegion), "EU")
+                .like(true, PropertyPath.of(OrderPO::getCustomer).then(CustomerPO::getName), orderQueryCondition.getOrderItemName())
+                .build();
+    }
+
+    /**
+     * <p>exists调用示例</p>
+     * 有指定物料明细、且没有空物料明细的医嘱
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param sku 物料编码
+     */
+    public void existsDemo(String sku) {
+        Specification specification = LambdaSpecification.query(OrderPO.class)
+                .exists(OrderPO::getItems, item -> item.eq(OrderItemPO::getSku, sku))
+                .notExists(OrderPO::getItems, item -> item.isNull(OrderItemPO::getSku))
+                .build();
+    }
+
+    /**
+     * <p>fetch join调用示例</p>
+     * 客户和明细随医嘱一起查出，分页时先按主键分页再fetch
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @return org.springframework.data.domain.Page<com.vincenttho.jpa.demo.model.OrderPO>
+     */
+    public Page<OrderPO> fetchDemo(LambdaQueryExecutor<OrderPO> executor) {
+        return executor.findAll(LambdaSpecification.query(OrderPO.class)
+                .fetch(OrderPO::getCustomer)
+                .fetch(OrderPO::getItems)
+                .eq(PropertyPath.of(OrderPO::getCustomer).then(CustomerPO::getRegion), "EU")
+                .build(), PageRequest.of(0, 20, Sort.by("createDate").descending()));
+    }
+
+    /**
+     * <p>投影调用示例</p>
+     * 只查询列表需要的三个字段
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @param orderQueryCondition
+     * @return java.util.List<javax.persistence.Tuple>
+     */
+    public List<Tuple> projectionDemo(LambdaQueryExecutor<OrderPO> executor, OrderQueryCondition orderQueryCondition) {
+        return executor.findAll(LambdaSpecification.query(OrderPO.class)
+                        .eq(true, OrderPO::getOrderItemName, orderQueryCondition.getOrderItemName())
+                        .build(),
+                Projection.tuple(OrderPO::getPid, OrderPO::getOrderNo, PropertyPath.of(OrderPO::getCustomer).then(CustomerPO::getName)),
+                Sort.by("orderNo"));
+    }
+
+    /**
+     * <p>流式查询调用示例</p>
+     * 导出全部医嘱，内存占用不随行数增长
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @param writer 导出
+     */
+    public void streamDemo(LambdaQueryExecutor<OrderPO> executor, Consumer<OrderPO> writer) {
+        try (Stream<OrderPO> orders = executor.stream(LambdaSpecification.query(OrderPO.class)
+                .gt(OrderPO::getCreateDate, new Date(0L))
+                .build(), Sort.by("createDate"))) {
+            orders.forEach(writer);
+        }
+    }
+
+    /**
+     * <p>批量更新、删除调用示例</p>
+     * 修改某个客户医嘱的项目名称；分段删除过期医嘱，每段在单独的事务中提交
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @param chunkRunner 分段执行器，如：chunk -> transactionTemplate.execute(status -> chunk.getAsInt())
+     * @return int 删除行数
+     */
+    public int bulkDemo(LambdaQueryExecutor<OrderPO> executor, ChunkRunner chunkRunner) {
+        executor.execute(LambdaSpecification.update(OrderPO.class)
+                .set(OrderPO::getOrderItemName, "阿莫西林胶囊")
+                .where(LambdaSpecification.query(OrderPO.class)
+                        .eq(OrderPO::getOrderItemName, "阿莫西林")
+                        .eq(PropertyPath.of(OrderPO::getCustomer).then(CustomerPO::getName), "张三")
+                        .build()));
+
+        Date expireDate = new Date(System.currentTimeMillis() - 365L * 24 * 60 * 60 * 1000);
+        return executor.execute(LambdaSpecification.delete(OrderPO.class)
+                .where(LambdaSpecification.query(OrderPO.class)
+                        .lt(OrderPO::getCreateDate, expireDate)
+                        .build()), 1000, chunkRunner);
+    }
+
+    /**
+     * <p>存在判断和不查总数的分页调用示例</p>
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @param orderQueryCondition
+     * @return org.springframework.data.domain.Slice<com.vincenttho.jpa.demo.model.OrderPO>
+     */
+    public Slice<OrderPO> sliceDemo(LambdaQueryExecutor<OrderPO> executor, OrderQueryCondition orderQueryCondition) {
+        LambdaSpecification<OrderPO> specification = LambdaSpecification.query(OrderPO.class)
+                .eq(true, OrderPO::getOrderItemName, orderQueryCondition.getOrderItemName())
+                .build();
+        if (!executor.exists(specification)) {
+            return new SliceImpl<>(Collections.emptyList());
+        }
+        return executor.findSlice(specification, PageRequest.of(0, 20, Sort.by("orderNo")));
+    }
+
+    /**
+     * <p>查询第一条调用示例</p>
+     * 查询最近一条医嘱
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @return java.util.Optional<com.vincenttho.jpa.demo.model.OrderPO>
+     */
+    public Optional<OrderPO> findFirstDemo(LambdaQueryExecutor<OrderPO> executor) {
+        return executor.findFirst(LambdaSpecification.query(OrderPO.class).build(), Sort.by(Sort.Direction.DESC, "createDate"));
+    }
+
+    /**
+     * <p>条件优化调用示例</p>
+     * 表单同时传了医嘱号和医嘱号范围时，条件合并成一个，医嘱号不在范围内时不查询数据库
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @param orderQueryCondition
+     * @param minOrderNo 最小医嘱号
+     * @param maxOrderNo 最大医嘱号
+     * @return java.util.List<com.vincenttho.jpa.demo.model.OrderPO>
+     */
+    public List<OrderPO> optimizeDemo(LambdaQueryExecutor<OrderPO> executor, OrderQueryCondition orderQueryCondition,
+                                      Long minOrderNo, Long maxOrderNo) {
+        LambdaSpecification<OrderPO> specification = LambdaSpecification.query(OrderPO.class)
+                .eq(true, OrderPO::getOrderNo, orderQueryCondition.getOrderNo())
+                .ge(true, OrderPO::getOrderNo, minOrderNo)
+                .le(true, OrderPO::getOrderNo, maxOrderNo)
+                .build();
+        if (specification.isAlwaysFalse()) {
+            return Collections.emptyList();
+        }
+        return executor.findAll(specification);
+    }
+
+    /**
+     * <p>内存过滤调用示例</p>
+     * 缓存的医嘱直接用同一个条件过滤，不查询数据库
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param cachedOrders 缓存的医嘱
+     * @param orderQueryCondition
+     * @return java.util.List<com.vincenttho.jpa.demo.model.OrderPO>
+     */
+    public List<OrderPO> filterDemo(List<OrderPO> cachedOrders, OrderQueryCondition orderQueryCondition) {
+        return LambdaSpecification.query(OrderPO.class)
+                .like(true, OrderPO::getOrderItemName, orderQueryCondition.getOrderItemName())
+                .ge(true, OrderPO::getOrderNo, orderQueryCondition.getOrderNo())
+                .build()
+                .filter(cachedOrders);
+    }
+
+    /**
+     * <p>指纹调用示例</p>
+     * 冻结后的条件作为缓存的key，条件顺序不同但内容相同的查询命中同一个缓存
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @param cache 查询结果缓存
+     * @param orderQueryCondition
+     * @return java.util.List<com.vincenttho.jpa.demo.model.OrderPO>
+     */
+    public List<OrderPO> fingerprintDemo(LambdaQueryExecutor<OrderPO> executor, Map<LambdaSpecification<OrderPO>, List<OrderPO>> cache,
+                                         OrderQueryCondition orderQueryCondition) {
+        LambdaSpecification<OrderPO> spec = LambdaSpecification.query(OrderPO.class)
+                .eq(true, OrderPO::getPid, orderQueryCondition.getPid())
+                .like(true, OrderPO::getOrderItemName, orderQueryCondition.getOrderItemName())
+                .build()
+                .freeze();
+        return cache.computeIfAbsent(spec, executor::findAll);
+    }
+
+    /**
+     * <p>查询结果缓存调用示例</p>
+     * 看板反复查询当天的医嘱数量，医嘱变更后（实体监听器或批量语句）缓存自动失效
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param entityManager
+     * @param cache 查询结果缓存，如：new QueryResultCache(1000, Duration.ofMinutes(5))
+     * @param today 当天零点
+     * @return long
+     */
+    public long cacheDemo(EntityManager entityManager, QueryResultCache cache, Date today) {
+        CachingLambdaQueryExecutor<OrderPO> executor = new CachingLambdaQueryExecutor<>(entityManager, OrderPO.class, cache);
+        return executor.count(LambdaSpecification.query(OrderPO.class)
+                .ge(OrderPO::getCreateDate, today)
+                .build());
+    }
+
+    /**
+     * <p>启动时校验条件调用示例</p>
+     * 属性名错误、类型不匹配等问题在启动时暴露，不必等到查询时才报错
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param entityManager
+     */
+    public void validateDemo(EntityManager entityManager) {
+        SpecificationTemplate<OrderPO> template = LambdaSpecification.query(OrderPO.class)
+                .eq(OrderPO::getPid, Placeholder.of("pid"))
+                .like(true, OrderPO::getOrderItemName, Placeholder.of("orderItemName"))
+                .template();
+        SpecificationValidator.validate(entityManager.getMetamodel(), template);
+    }
+
+    /**
+     * <p>查询条件对象映射调用示例</p>
+     * OrderQueryCondition的字段上标注了@Eq、@Like，空值字段不生成条件
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param condition 查询条件
+     * @return com.vincenttho.jpa.domain.LambdaSpecification<com.vincenttho.jpa.demo.model.OrderPO>
+     */
+    public LambdaSpecification<OrderPO> conditionObjectDemo(OrderQueryCondition condition) {
+        return LambdaSpecification.query(OrderPO.class)
+                .apply(condition)
+                .isNotNull(OrderPO::getCreateDate)
+                .build();
+    }
+
+    /**
+     * <p>查询监听器调用示例</p>
+     * 记录执行超过100毫秒的查询，按结构指纹区分不同的查询
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param slowQueryLog 慢查询日志，如：log::warn
+     */
+    public void listenerDemo(Consumer<String> slowQueryLog) {
+        LambdaSpecificationConfig.setSpecificationListener(new SpecificationListener() {
+            @Override
+            public void onExecute(LambdaSpecification<?> specification, String operation, long nanos, long rowCount) {
+                if (nanos > 100_000_000L) {
+                    slowQueryLog.accept(String.format("慢查询：%s %s %x %dms %d行", specification.getPoClass().getSimpleName(),
+                            operation, specification.shapeFingerprint(), nanos / 1_000_000L, rowCount));
+                }
+            }
+        });
+    }
+
+    /**
+     * <p>查询结构统计调用示例</p>
+     * 统计线上实际执行的查询结构，用于判断需要建哪些索引
+     * @author VincentHo
+     * @date 2026/10/17
+     * @return com.vincenttho.jpa.listener.QueryShapeRegistry
+     */
+    public QueryShapeRegistry shapeRegistryDemo() {
+        QueryShapeRegistry registry = new QueryShapeRegistry(1000, Duration.ofMillis(200));
+        LambdaSpecificationConfig.setSpecificationListener(registry);
+        return registry;
+    }
+
+    /**
+     * <p>查询结构报告调用示例</p>
+     * 最慢、最频繁的10种结构及其SQL，可以由管理端接口返回
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param registry 查询结构统计
+     * @param entityManagerFactory
+     * @return java.lang.String
+     */
+    public String shapeReportDemo(QueryShapeRegistry registry, EntityManagerFactory entityManagerFactory) {
+        return registry.report(10, new HibernateSqlRenderer(entityManagerFactory));
+    }
+
+    /**
+     * <p>异步查询调用示例</p>
+     * 列表页的分页数据、总数和客户的医嘱数量并行查询
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @param orderQueryCondition
+     * @param model 页面数据，放入客户的医嘱数量
+     * @return org.springframework.data.domain.Page<com.vincenttho.jpa.demo.model.OrderPO>
+     */
+    public Page<OrderPO> asyncDemo(AsyncLambdaQueryExecutor<OrderPO> executor, OrderQueryCondition orderQueryCondition,
+                                   Map<String, Object> model) {
+        CompletableFuture<Page<OrderPO>> page = executor.findAll(LambdaSpecification.query(OrderPO.class)
+                .apply(orderQueryCondition)
+                .build(), PageRequest.of(0, 20, Sort.by("createDate").descending()));
+        CompletableFuture<Long> euCount = executor.count(LambdaSpecification.query(OrderPO.class)
+                .eq(PropertyPath.of(OrderPO::getCustomer).then(CustomerPO::getRegion), "EU")
+                .build());
+        model.put("euCount", euCount.join());
+        return page.join();
+    }
+
+    /**
+     * <p>批量查询</p>
+     * 多个只有医嘱号不同的查询合并成一个in查询，再按医嘱号分给每个调用方
+     * @author VincentHo
+     * @date 2026/10/17
+     * @param executor
+     * @param orderNos 医嘱号
+     * @return java.util.Map<java.lang.Long,java.util.List<com.vincenttho.jpa.demo.model.OrderPO>>
+     */
+    public Map<Long, List<OrderPO>> batchLoaderDemo(AsyncLambdaQueryExecutor<OrderPO> executor, List<Long> orderNos) {
+        SpecificationBatchLoader<OrderPO> loader = SpecificationBatchLoader.of(executor, 100, Duration.ofMillis(5));
+        Map<Long, CompletableFuture<List<OrderPO>>> futures = new HashMap<>();
+        for (Long orderNo : orderNos) {
+            futures.put(orderNo, loader.load(LambdaSpecification.query(OrderPO.class).eq(OrderPO::getOrderNo, orderNo).build()));
+        }
+        Map<Long, List<OrderPO>> result = new HashMap<>();
+        futures.forEach((orderNo, future) -> result.put(orderNo, future.join()));
+        return result;
+    }
+
 }
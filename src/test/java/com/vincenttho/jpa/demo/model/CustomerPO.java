@@ -0,0 +1,32 @@
+package com.vincenttho.jpa.demo.model;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "ipn_customer")
+public class CustomerPO {
+
+    /** 主键*/
+    @Id
+    private String pid;
+
+    /** 客户名称 */
+    private String name;
+
+    /** 所属区域 */
+    private String region;
+
+    public String getPid() {
+        return pid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+}
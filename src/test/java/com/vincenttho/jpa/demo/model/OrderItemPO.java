@@ -0,0 +1,35 @@
+package com.vincenttho.jpa.demo.model;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+@Entity
+@Table(name = "ipn_order_item")
+public class OrderItemPO {
+
+    /** 主键*/
+    @Id
+    private String pid;
+
+    /** 物料编码 */
+    private String sku;
+
+    /** 所属医嘱 */
+    @ManyToOne(fetch = FetchType.LAZY)
+    private OrderPO order;
+
+    public String getPid() {
+        return pid;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public OrderPO getOrder() {
+        return order;
+    }
+}
@@ -1,9 +1,13 @@
 package com.vincenttho.jpa.demo.model;
 
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.util.Date;
+import java.util.List;
 
 @Entity
 @Table(name = "ipn_order")
@@ -22,6 +26,14 @@ public class OrderPO {
 
     private Date createDate;
 
+    /** 客户 */
+    @ManyToOne(fetch = FetchType.LAZY)
+    private CustomerPO customer;
+
+    /** 医嘱明细 */
+    @OneToMany(mappedBy = "order")
+    private List<OrderItemPO> items;
+
     public String getPid() {
         return pid;
     }
@@ -37,4 +49,12 @@ public class OrderPO {
     public Date getCreateDate() {
         return createDate;
     }
+
+    public CustomerPO getCustomer() {
+        return customer;
+    }
+
+    public List<OrderItemPO> getItems() {
+        return items;
+    }
 }
\ No newline at end of file
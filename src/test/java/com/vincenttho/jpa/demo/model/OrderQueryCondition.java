@@ -1,5 +1,7 @@
 package com.vincenttho.jpa.demo.model;
 
+import com.vincenttho.jpa.annotation.Eq;
+import com.vincenttho.jpa.annotation.Like;
 
 /**
  * <p>订单查询条件</p>
@@ -9,10 +11,13 @@ package com.vincenttho.jpa.demo.model;
  */
 public class OrderQueryCondition {
 
+    @Eq
     private String pid;
 
+    @Like(prefix = true)
     private String orderItemName;
 
+    @Eq
     private Long orderNo;
 
     public String getPid() {